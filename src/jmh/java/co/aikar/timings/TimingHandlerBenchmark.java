@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures start/stop pairs of enabled handlers nested three deep, with the
+ * innermost handler also reporting to a group handler, as done by the per
+ * entity and per tile entity timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimingHandlerBenchmark {
+
+    private TimingHandler group;
+    private TimingHandler outer;
+    private TimingHandler middle;
+    private TimingHandler inner;
+
+    @Setup
+    public void setup() {
+        // Setup runs on the benchmark thread for thread scoped state
+        TimingsManager.timingsEnabled = true;
+        TimingsManager.mainThread = Thread.currentThread();
+        this.group = SpongeTimingsFactory.ofSafe("Benchmark", "Entity Group");
+        this.outer = SpongeTimingsFactory.ofSafe("Benchmark", "Tick");
+        this.middle = SpongeTimingsFactory.ofSafe("Benchmark", "Entity Tick");
+        this.inner = SpongeTimingsFactory.ofSafe("Benchmark", "Entity: Zombie", this.group);
+        this.group.checkEnabled();
+        this.outer.checkEnabled();
+        this.middle.checkEnabled();
+        this.inner.checkEnabled();
+    }
+
+    @Benchmark
+    public void singlePair() {
+        this.inner.startTiming();
+        this.inner.stopTiming();
+    }
+
+    @Benchmark
+    public void nestedPairs() {
+        this.outer.startTiming();
+        this.middle.startTiming();
+        this.inner.startTiming();
+        this.inner.stopTiming();
+        this.middle.stopTiming();
+        this.outer.stopTiming();
+    }
+
+    @Benchmark
+    public void nestedPairsIfSync() {
+        this.outer.startTimingIfSync();
+        this.middle.startTimingIfSync();
+        this.inner.startTimingIfSync();
+        this.inner.stopTimingIfSync();
+        this.middle.stopTimingIfSync();
+        this.outer.stopTimingIfSync();
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common;
+
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Offline stand-ins for the parts of the game the benchmarks touch, so that
+ * they run without a server, a launch wrapper or the mixins applied.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String PLUGIN_ID = "benchmark";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a plugin container answering {@link #PLUGIN_ID} for its id and
+     * name, and empty values otherwise.
+     *
+     * @return The plugin container
+     */
+    public static PluginContainer pluginContainer() {
+        return proxy(PluginContainer.class, (method, args) -> null);
+    }
+
+    /**
+     * Creates a plugin manager resolving every plugin instance to the given
+     * container.
+     *
+     * @param container The container of every plugin
+     * @return The plugin manager
+     */
+    public static PluginManager pluginManager(PluginContainer container) {
+        return proxy(PluginManager.class, (method, args) -> "fromInstance".equals(method.getName()) ? Optional.of(container) : null);
+    }
+
+    /**
+     * Creates an instance of an interface, calling the handler for every
+     * method and falling back to an empty value of the return type when the
+     * handler returns null.
+     *
+     * @param type The interface to implement
+     * @param handler The method handler
+     * @param <T> The type of the interface
+     * @return The instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    final Object result = handler.handle(method, args);
+                    return result != null ? result : emptyValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == String.class) {
+            return PLUGIN_ID;
+        } else if (type == Optional.class) {
+            return Optional.empty();
+        } else if (type == List.class || type == Collection.class) {
+            return Collections.emptyList();
+        } else if (type == Set.class) {
+            return Collections.emptySet();
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0D;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+
+        Object handle(Method method, Object[] args) throws Throwable;
+
+    }
+
+}
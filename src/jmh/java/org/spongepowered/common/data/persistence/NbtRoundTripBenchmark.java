@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips a chunk shaped container through the tag tree based
+ * translation and through the streaming {@link NbtTranslator#read} and
+ * {@link NbtTranslator#write} methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NbtRoundTripBenchmark {
+
+    private DataContainer container;
+    private byte[] serialized;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        this.container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        this.container.set(DataQuery.of("xPos"), 12);
+        this.container.set(DataQuery.of("zPos"), -7);
+        this.container.set(DataQuery.of("LastUpdate"), 123456789L);
+        this.container.set(DataQuery.of("TerrainPopulated"), true);
+        this.container.set(DataQuery.of("HeightMap"), new int[256]);
+        this.container.set(DataQuery.of("Biomes"), new byte[256]);
+        final List<DataView> sections = new ArrayList<>();
+        for (int y = 0; y < 16; y++) {
+            final DataContainer section = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+            section.set(DataQuery.of("Y"), (byte) y);
+            section.set(DataQuery.of("Blocks"), new byte[4096]);
+            section.set(DataQuery.of("Data"), new byte[2048]);
+            section.set(DataQuery.of("BlockLight"), new byte[2048]);
+            section.set(DataQuery.of("SkyLight"), new byte[2048]);
+            sections.add(section);
+        }
+        this.container.set(DataQuery.of("Sections"), sections);
+        final List<DataView> entities = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            final DataContainer entity = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+            entity.set(DataQuery.of("id"), "Zombie");
+            entity.set(DataQuery.of("Health"), 20.0F);
+            entity.set(DataQuery.of("Pos", "x"), 192.5D + i);
+            entity.set(DataQuery.of("Pos", "y"), 64.0D);
+            entity.set(DataQuery.of("Pos", "z"), -112.5D);
+            entities.add(entity);
+        }
+        this.container.set(DataQuery.of("Entities"), entities);
+
+        this.buffer = new ByteArrayOutputStream(64 * 1024);
+        NbtTranslator.getInstance().write(new DataOutputStream(this.buffer), this.container);
+        this.serialized = this.buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeTagTree() throws IOException {
+        this.buffer.reset();
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(this.container);
+        CompressedStreamTools.write(compound, new DataOutputStream(this.buffer));
+        return this.buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeStreaming() throws IOException {
+        this.buffer.reset();
+        NbtTranslator.getInstance().write(new DataOutputStream(this.buffer), this.container);
+        return this.buffer.toByteArray();
+    }
+
+    @Benchmark
+    public DataContainer readTagTree() throws IOException {
+        final NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(this.serialized)));
+        return NbtTranslator.getInstance().translateFrom(compound);
+    }
+
+    @Benchmark
+    public DataContainer readStreaming() throws IOException {
+        return NbtTranslator.getInstance().read(new DataInputStream(new ByteArrayInputStream(this.serialized)));
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.key.KeyFactory;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.ValueContainer;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.common.data.ValueProcessor;
+import org.spongepowered.common.data.processor.common.AbstractSpongeValueProcessor;
+import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
+import org.spongepowered.common.data.value.mutable.SpongeValue;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures key gets and offers through a {@link ValueProcessorDelegate} alone,
+ * on holders standing in for an entity and an item stack. Like the display
+ * name or durability keys, the key has processors registered for eight holder
+ * types, only one of which applies to each holder. The holders are plain
+ * classes, so the processors' type checks and calls run against concrete
+ * types.
+ *
+ * <p>The lookup of the delegate in {@code SpongeDataManager}, the
+ * {@code MixinDataHolder} entry points and the work of real processors on
+ * Minecraft objects are not measured, so the results only compare the cost
+ * of selecting and calling a processor.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValueProcessorBenchmark {
+
+    private ValueProcessor<Double, Value<Double>> delegate;
+    private EntityHolder entity;
+    private ItemHolder item;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        final Key<Value<Double>> key = (Key<Value<Double>>) (Key<?>) KeyFactory.makeSingleKey(Double.class, Value.class, DataQuery.of("Benchmark"));
+        final ImmutableList.Builder<ValueProcessor<Double, Value<Double>>> processors = ImmutableList.builder();
+        for (Class<? extends Holder> holderClass : ImmutableList.of(TileHolder.class, MinecartHolder.class, ProjectileHolder.class,
+                HangingHolder.class, BlockHolder.class, LocationHolder.class, ItemHolder.class, EntityHolder.class)) {
+            processors.add(new HolderValueProcessor<>(holderClass, key));
+        }
+        this.delegate = new ValueProcessorDelegate<>(key, processors.build());
+        this.entity = new EntityHolder();
+        this.item = new ItemHolder();
+    }
+
+    @Benchmark
+    public Optional<Double> getEntity() {
+        return this.delegate.getValueFromContainer(this.entity);
+    }
+
+    @Benchmark
+    public Optional<Double> getItem() {
+        return this.delegate.getValueFromContainer(this.item);
+    }
+
+    @Benchmark
+    public DataTransactionResult offerEntity() {
+        return this.delegate.offerToStore(this.entity, 20D);
+    }
+
+    @Benchmark
+    public DataTransactionResult offerItem() {
+        return this.delegate.offerToStore(this.item, 20D);
+    }
+
+    public abstract static class Holder implements ValueContainer<Holder> {
+
+        private double benchmarkValue = 10D;
+
+        double getBenchmarkValue() {
+            return this.benchmarkValue;
+        }
+
+        void setBenchmarkValue(double value) {
+            this.benchmarkValue = value;
+        }
+
+        @Override
+        public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean supports(Key<?> key) {
+            return false;
+        }
+
+        @Override
+        public Holder copy() {
+            return this;
+        }
+
+        @Override
+        public Set<Key<?>> getKeys() {
+            return ImmutableSet.of();
+        }
+
+        @Override
+        public Set<ImmutableValue<?>> getValues() {
+            return ImmutableSet.of();
+        }
+
+    }
+
+    public static final class EntityHolder extends Holder {
+    }
+
+    public static final class ItemHolder extends Holder {
+    }
+
+    public static final class TileHolder extends Holder {
+    }
+
+    public static final class MinecartHolder extends Holder {
+    }
+
+    public static final class ProjectileHolder extends Holder {
+    }
+
+    public static final class HangingHolder extends Holder {
+    }
+
+    public static final class BlockHolder extends Holder {
+    }
+
+    public static final class LocationHolder extends Holder {
+    }
+
+    static final class HolderValueProcessor<H extends Holder> extends AbstractSpongeValueProcessor<H, Double, Value<Double>> {
+
+        HolderValueProcessor(Class<H> holderClass, Key<Value<Double>> key) {
+            super(holderClass, key);
+        }
+
+        @Override
+        protected Value<Double> constructValue(Double actualValue) {
+            return new SpongeValue<>(this.key, 0D, actualValue);
+        }
+
+        @Override
+        protected boolean set(H container, Double value) {
+            container.setBenchmarkValue(value);
+            return true;
+        }
+
+        @Override
+        protected Optional<Double> getVal(H container) {
+            return Optional.of(container.getBenchmarkValue());
+        }
+
+        @Override
+        protected ImmutableValue<Double> constructImmutableValue(Double value) {
+            return ImmutableSpongeValue.cachedOf(this.key, 0D, value);
+        }
+
+        @Override
+        public DataTransactionResult removeFrom(ValueContainer<?> container) {
+            return DataTransactionResult.failNoData();
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.BenchmarkFixtures;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpongeEventManager#post} of an event with no, one and
+ * eight registered listeners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventPostBenchmark {
+
+    @Param({"0", "1", "8"})
+    public int listeners;
+
+    private SpongeEventManager eventManager;
+    private BenchmarkEvent event;
+
+    @Setup
+    public void setup() {
+        final PluginContainer container = BenchmarkFixtures.pluginContainer();
+        this.eventManager = new SpongeEventManager(BenchmarkFixtures.pluginManager(container));
+        final Object plugin = new Object();
+        for (int i = 0; i < this.listeners; i++) {
+            this.eventManager.registerListeners(plugin, new BenchmarkListener());
+        }
+        this.event = new BenchmarkEvent(Cause.source(plugin).build());
+    }
+
+    @Benchmark
+    public boolean post() {
+        return this.eventManager.post(this.event);
+    }
+
+    public static final class BenchmarkEvent implements Event {
+
+        private final Cause cause;
+        int handled;
+
+        BenchmarkEvent(Cause cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+    }
+
+    public static final class BenchmarkListener {
+
+        @Listener
+        public void onEvent(BenchmarkEvent event) {
+            event.handled++;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.cause.NamedCause;
+import org.spongepowered.common.event.tracking.phase.GeneralPhase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a completed phase context, with or without captures,
+ * then pushing it onto a {@link CauseStack} and popping it. This is only the
+ * context and stack work {@link CauseTracker#switchToPhase} and
+ * {@link CauseTracker#completePhase} share: a cause tracker needs a world, so
+ * their phase transition checks, the phase's own processing on completion and
+ * unwinding are not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PhaseEnterExitBenchmark {
+
+    private CauseStack stack;
+    private Object source;
+
+    @Setup
+    public void setup() {
+        this.stack = new CauseStack();
+        this.source = new Object();
+    }
+
+    @Benchmark
+    public PhaseData enterExit() {
+        this.stack.push(GeneralPhase.State.COMMAND, PhaseContext.start()
+                .add(NamedCause.source(this.source))
+                .complete());
+        this.stack.peek();
+        return this.stack.pop();
+    }
+
+    @Benchmark
+    public PhaseData enterExitWithCaptures() {
+        this.stack.push(GeneralPhase.State.COMMAND, PhaseContext.start()
+                .add(NamedCause.source(this.source))
+                .addCaptures()
+                .complete());
+        this.stack.peek();
+        return this.stack.pop();
+    }
+
+    @Benchmark
+    public PhaseData nestedEnterExit() {
+        for (int i = 0; i < 3; i++) {
+            this.stack.push(GeneralPhase.State.COMMAND, PhaseContext.start()
+                    .add(NamedCause.source(this.source))
+                    .complete());
+        }
+        this.stack.pop();
+        this.stack.pop();
+        return this.stack.pop();
+    }
+
+}
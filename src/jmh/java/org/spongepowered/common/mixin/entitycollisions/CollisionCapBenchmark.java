@@ -0,0 +1,191 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entitycollisions;
+
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.event.cause.NamedCause;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionCaps;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Models one tick of a cramming pen of 2,000 entities spread over the four
+ * chunks of a 2x2 pen corner. Every entity runs a collision query over all
+ * four chunks with a cap of 8, comparing the previous per candidate stream
+ * of suppliers with the {@link EntityCollisionCaps} lookup the world mixin
+ * now performs once per query, leaving the chunks to compare a plain int as
+ * each chunk starts and before each candidate is added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollisionCapBenchmark {
+
+    private static final int ENTITIES = 2000;
+    private static final int CHUNKS = 4;
+    private static final int MAX_COLLISIONS = 8;
+
+    private PhaseContext context;
+    private List<Object> listToFill;
+
+    @Setup
+    public void setup() {
+        this.context = PhaseContext.start().add(NamedCause.source(new CappedSource(MAX_COLLISIONS))).complete();
+        this.listToFill = new ArrayList<>(ENTITIES);
+    }
+
+    @Benchmark
+    public int streamPerCandidate() {
+        int collisions = 0;
+        for (int entity = 0; entity < ENTITIES; entity++) {
+            this.listToFill.clear();
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                for (int candidate = 0; candidate < ENTITIES / CHUNKS; candidate++) {
+                    if (!streamAllow(this.context, this.listToFill)) {
+                        // The cancelled injection returns from the chunk method
+                        break;
+                    }
+                    this.listToFill.add(this);
+                }
+            }
+            collisions += this.listToFill.size();
+        }
+        return collisions;
+    }
+
+    @Benchmark
+    public int collisionCapLookup() {
+        int collisions = 0;
+        for (int entity = 0; entity < ENTITIES; entity++) {
+            this.listToFill.clear();
+            // Resolved by the world as the query starts
+            // The source never requires a refresh of its collision state, so no world is needed
+            final int cap = EntityCollisionCaps.getCollisionCap(this.context, null);
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                if (!capAllow(cap, this.listToFill)) {
+                    // The cancelled injection at the head of the chunk method
+                    continue;
+                }
+                for (int candidate = 0; candidate < ENTITIES / CHUNKS; candidate++) {
+                    if (!capAllow(cap, this.listToFill)) {
+                        break;
+                    }
+                    this.listToFill.add(this);
+                }
+            }
+            collisions += this.listToFill.size();
+        }
+        return collisions;
+    }
+
+    private static boolean streamAllow(PhaseContext phaseContext, List<Object> listToFill) {
+        return Stream.<Supplier<Optional<Boolean>>>of(
+                () -> phaseContext.getSource(BlockSnapshot.class).map(tickBlock -> true),
+                () -> phaseContext.getSource(IModData_Collisions.class).map(spongeEntity ->
+                        !((spongeEntity.getMaxCollisions() >= 0) && (listToFill.size() >= spongeEntity.getMaxCollisions())))
+        ).map(Supplier::get)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .findFirst()
+        .orElse(true);
+    }
+
+    private static boolean capAllow(int cap, List<Object> listToFill) {
+        return cap < 0 || listToFill.size() < cap;
+    }
+
+    static final class CappedSource implements IModData_Collisions {
+
+        private int maxCollisions;
+
+        CappedSource(int maxCollisions) {
+            this.maxCollisions = maxCollisions;
+        }
+
+        @Override
+        public int getMaxCollisions() {
+            return this.maxCollisions;
+        }
+
+        @Override
+        public void setMaxCollisions(int max) {
+            this.maxCollisions = max;
+        }
+
+        @Override
+        public void initializeCollisionState(World worldIn) {
+        }
+
+        @Override
+        public void requiresCollisionsCacheRefresh(boolean flag) {
+        }
+
+        @Override
+        public boolean requiresCollisionsCacheRefresh() {
+            return false;
+        }
+
+        @Override
+        public String getModDataName() {
+            return "pen";
+        }
+
+        @Override
+        public void setModDataName(String name) {
+        }
+
+        @Override
+        public String getModDataId() {
+            return "sponge:pen";
+        }
+
+        @Override
+        public void setModDataId(String id) {
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.registry.CatalogRegistryModule;
+import org.spongepowered.common.SpongeCatalogType;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares catalog id lookups against a module behaving like the mutable
+ * registry modules, which lower case every id and copy on every getAll,
+ * with the same lookups against its {@link FrozenCatalogRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatalogLookupBenchmark {
+
+    // Roughly the number of block states in a vanilla server
+    private static final int TYPE_COUNT = 4096;
+
+    private CatalogRegistryModule<TestType> module;
+    private FrozenCatalogRegistry<TestType> frozenRegistry;
+    private String[] ids;
+    private String[] mixedCaseIds;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final TestModule module = new TestModule();
+        this.ids = new String[TYPE_COUNT];
+        this.mixedCaseIds = new String[TYPE_COUNT];
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            this.ids[i] = "minecraft:block_" + i + "[variant=type_" + (i % 16) + "]";
+            this.mixedCaseIds[i] = "minecraft:Block_" + i + "[variant=Type_" + (i % 16) + "]";
+            module.register(new TestType(this.ids[i]));
+        }
+        this.module = module;
+        this.frozenRegistry = new FrozenCatalogRegistry<>(module, null);
+    }
+
+    private int next() {
+        return this.index = (this.index + 1) & (TYPE_COUNT - 1);
+    }
+
+    @Benchmark
+    public Optional<TestType> moduleGetById() {
+        return this.module.getById(this.ids[next()]);
+    }
+
+    @Benchmark
+    public Optional<TestType> frozenGetById() {
+        return this.frozenRegistry.getById(this.ids[next()]);
+    }
+
+    @Benchmark
+    public Optional<TestType> moduleGetByMixedCaseId() {
+        return this.module.getById(this.mixedCaseIds[next()]);
+    }
+
+    @Benchmark
+    public Optional<TestType> frozenGetByMixedCaseId() {
+        return this.frozenRegistry.getById(this.mixedCaseIds[next()]);
+    }
+
+    @Benchmark
+    public TestType frozenGetByIntId() {
+        return this.frozenRegistry.getByIntId(next());
+    }
+
+    @Benchmark
+    public Collection<TestType> moduleGetAll() {
+        return this.module.getAll();
+    }
+
+    @Benchmark
+    public Collection<TestType> frozenGetAll() {
+        return this.frozenRegistry.getAll();
+    }
+
+    static final class TestType extends SpongeCatalogType {
+
+        TestType(String id) {
+            super(id);
+        }
+
+    }
+
+    static final class TestModule implements CatalogRegistryModule<TestType> {
+
+        private final Map<String, TestType> types = new LinkedHashMap<>();
+
+        void register(TestType type) {
+            this.types.put(type.getId().toLowerCase(Locale.ENGLISH), type);
+        }
+
+        @Override
+        public Optional<TestType> getById(String id) {
+            return Optional.ofNullable(this.types.get(id.toLowerCase(Locale.ENGLISH)));
+        }
+
+        @Override
+        public Collection<TestType> getAll() {
+            return ImmutableList.copyOf(this.types.values());
+        }
+
+    }
+
+}
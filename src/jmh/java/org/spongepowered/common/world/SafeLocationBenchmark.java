@@ -0,0 +1,158 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.material.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compares the previous sorted search of the teleport helper with the
+ * streaming one, over flat terrain of stone up to y 64 and air above. The
+ * search starts on the surface, buried 12 blocks deep, or 20 blocks up in
+ * the air, with the default 3 by 9 box and the 32 by 32 box commonly used by
+ * random teleport commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SafeLocationBenchmark {
+
+    private static final int FLOOR_Y = 64;
+
+    @Param({"3x9", "32x32"})
+    public String box;
+
+    @Param({"surface", "buried", "air"})
+    public String start;
+
+    private Vector3i centre;
+    private int height;
+    private int width;
+
+    @Setup
+    public void setup() {
+        final String[] size = this.box.split("x");
+        this.height = Integer.parseInt(size[0]);
+        this.width = Integer.parseInt(size[1]);
+        final int y = "surface".equals(this.start) ? FLOOR_Y + 1 : "buried".equals(this.start) ? FLOOR_Y - 12 : FLOOR_Y + 20;
+        this.centre = new Vector3i(100, y, -100);
+    }
+
+    @Benchmark
+    @Nullable
+    public Vector3i sorted() {
+        final Map<Vector3i, Byte> cache = new HashMap<>();
+        final List<Vector3i> vectors = new ArrayList<>();
+        for (int x = minX(); x <= maxX(); x++) {
+            for (int y = minY(); y <= maxY(); y++) {
+                for (int z = minZ(); z <= maxZ(); z++) {
+                    vectors.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+        return vectors.stream()
+                .sorted(Comparator.comparingInt(this.centre::distanceSquared))
+                .filter(target -> (flags(target, cache) & SafeLocationSearch.SAFE_BODY) != 0
+                        && (flags(target.add(0, 1, 0), cache) & SafeLocationSearch.SAFE_BODY) != 0
+                        && ((flags(target.sub(0, 1, 0), cache) & SafeLocationSearch.SAFE_FLOOR) != 0
+                                || (flags(target.sub(0, 1, 0), cache) & SafeLocationSearch.SAFE_BODY) != 0
+                                && (flags(target.sub(0, 2, 0), cache) & SafeLocationSearch.SAFE_FLOOR) != 0))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    @Nullable
+    public Vector3i streaming() {
+        return new FlatSearch().find(this.centre, minX(), maxX(), minY(), maxY(), minZ(), maxZ());
+    }
+
+    private static byte flags(Vector3i position, Map<Vector3i, Byte> cache) {
+        return cache.computeIfAbsent(position, key -> readFlags(key.getY()));
+    }
+
+    static byte readFlags(int y) {
+        if (y < 0) {
+            return 0;
+        }
+        return SafeLocationSearch.flagsOf(y <= FLOOR_Y ? Material.ROCK : Material.AIR);
+    }
+
+    private int minX() {
+        return this.centre.getX() - this.width;
+    }
+
+    private int maxX() {
+        return this.centre.getX() + this.width;
+    }
+
+    private int minY() {
+        return Math.max(this.centre.getY() - this.height, 0);
+    }
+
+    private int maxY() {
+        return Math.min(this.centre.getY() + this.height, 255);
+    }
+
+    private int minZ() {
+        return this.centre.getZ() - this.width;
+    }
+
+    private int maxZ() {
+        return this.centre.getZ() + this.width;
+    }
+
+    static final class FlatSearch extends SafeLocationSearch {
+
+        @Override
+        protected byte readFlags(int x, int y, int z) {
+            return SafeLocationBenchmark.readFlags(y);
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.WorldInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Models one tick of a TNT cannon: a stack of charges detonating in the
+ * water block at the back of an obsidian barrel, each computing the exposure
+ * of every projectile charge lined up in the barrel. Compares the vanilla
+ * {@link World#getBlockDensity(Vec3d, AxisAlignedBB)} of every detonation
+ * with the same exposures served by an {@link ExplosionCache} shared by the
+ * whole stack.
+ *
+ * <p>The setup checks that the cache returns exactly the vanilla exposures,
+ * and fails the run if it does not.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CannonExplosionBenchmark {
+
+    private static final int FLOOR_Y = 64;
+    private static final int PROJECTILES = 12;
+
+    @Param({"1", "16", "64"})
+    public int charges;
+
+    private World world;
+    private ExplosionCache cache;
+    private Vec3d origin;
+    private AxisAlignedBB[] projectiles;
+
+    @Setup
+    public void setup() {
+        Bootstrap.register();
+        this.world = new CannonWorld();
+        this.cache = new ExplosionCache();
+        this.origin = new Vec3d(0.5D, FLOOR_Y + 1.49D, 0.5D);
+        this.projectiles = new AxisAlignedBB[PROJECTILES];
+        for (int i = 0; i < PROJECTILES; i++) {
+            final double x = 2.5D + i;
+            this.projectiles[i] = new AxisAlignedBB(x - 0.49D, FLOOR_Y + 1.0D, 0.01D, x + 0.49D, FLOOR_Y + 1.98D, 0.99D);
+        }
+
+        for (int charge = 0; charge < 2; charge++) {
+            for (AxisAlignedBB projectile : this.projectiles) {
+                final float expected = this.world.getBlockDensity(this.origin, projectile);
+                final float cached = this.cache.getExposure(this.world, this.origin, projectile);
+                if (Float.compare(expected, cached) != 0) {
+                    throw new IllegalStateException("Cached exposure " + cached + " of " + projectile + " differs from " + expected);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public float vanillaExposures() {
+        float exposure = 0.0F;
+        for (int charge = 0; charge < this.charges; charge++) {
+            for (AxisAlignedBB projectile : this.projectiles) {
+                exposure += this.world.getBlockDensity(this.origin, projectile);
+            }
+        }
+        return exposure;
+    }
+
+    @Benchmark
+    public float cachedExposures() {
+        // The cache lives for a single tick
+        this.cache.clear();
+        float exposure = 0.0F;
+        for (int charge = 0; charge < this.charges; charge++) {
+            for (AxisAlignedBB projectile : this.projectiles) {
+                exposure += this.cache.getExposure(this.world, this.origin, projectile);
+            }
+        }
+        return exposure;
+    }
+
+    /**
+     * An obsidian barrel along the x axis with a floor at {@link #FLOOR_Y}
+     * and walls on both sides, holding a water block at its back.
+     */
+    static final class CannonWorld extends World {
+
+        CannonWorld() {
+            super(null, new WorldInfo(new WorldSettings(0L, GameType.SURVIVAL, false, false, WorldType.FLAT), "cannon"),
+                    new WorldProviderSurface(), new Profiler(), false);
+        }
+
+        @Override
+        public IBlockState getBlockState(BlockPos pos) {
+            final int y = pos.getY();
+            final int z = pos.getZ();
+            if (y == FLOOR_Y || (y > FLOOR_Y && y <= FLOOR_Y + 2 && (z == -1 || z == 1))) {
+                return Blocks.OBSIDIAN.getDefaultState();
+            }
+            if (y == FLOOR_Y + 1 && pos.getX() == 0 && z == 0) {
+                return Blocks.WATER.getDefaultState();
+            }
+            return Blocks.AIR.getDefaultState();
+        }
+
+        @Override
+        protected IChunkProvider createChunkProvider() {
+            return null;
+        }
+
+        @Override
+        protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import co.aikar.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * Timing data for work done off the main thread.
+ *
+ * <p>Every thread records into its own {@link ThreadRecord}, which only that
+ * thread ever writes to, so recording needs no locks. Readers sum the records
+ * of all threads when a {@link TimingHistory} is taken. Resets are handled by
+ * remembering the totals at the time of the reset rather than clearing the
+ * records, as the records belong to other threads.</p>
+ */
+final class AsyncTimings {
+
+    private static final Queue<ThreadRecord> RECORDS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadRecord> RECORD = ThreadLocal.withInitial(() -> {
+        ThreadRecord record = new ThreadRecord(Thread.currentThread());
+        RECORDS.add(record);
+        return record;
+    });
+
+    // Totals of threads that have died, and the totals at the last reset.
+    // Only touched by readers, which synchronize on the class.
+    private static final Totals retired = new Totals();
+    private static Totals baseline = new Totals();
+
+    private AsyncTimings() {
+    }
+
+    /**
+     * Records a scheduler task that ran off the main thread.
+     *
+     * @param plugin The owner of the task
+     * @param queueTime The time between the task being due and it starting
+     * @param wallTime The time the task took to run
+     */
+    static void recordTask(PluginContainer plugin, long queueTime, long wallTime) {
+        if (!TimingsManager.timingsEnabled) {
+            return;
+        }
+        RECORD.get().tasks.computeIfAbsent(plugin.getId(), id -> new AsyncData()).add(wallTime, queueTime);
+    }
+
+    /**
+     * Starts timing a handler on the current, non main, thread.
+     *
+     * @param handler The handler
+     */
+    static void startTiming(TimingHandler handler) {
+        RECORD.get().push(handler, System.nanoTime());
+    }
+
+    /**
+     * Stops timing a handler on the current, non main, thread. Unbalanced
+     * stops are ignored.
+     *
+     * @param handler The handler
+     */
+    static void stopTiming(TimingHandler handler) {
+        final ThreadRecord record = RECORD.get();
+        final long start = record.pop(handler);
+        if (start != 0) {
+            record.handlers.computeIfAbsent(handler.id, id -> new AsyncData()).add(System.nanoTime() - start, 0);
+            // Sticky flag, so the handler is named in the report's id map
+            handler.timed = true;
+        }
+    }
+
+    /**
+     * Starts counting from zero again, called from the main thread whenever
+     * the main thread timings are reset.
+     */
+    static synchronized void reset() {
+        baseline = collect();
+    }
+
+    /**
+     * Exports everything recorded since the last reset.
+     *
+     * @return The exported data, or null if nothing has run async
+     */
+    @Nullable
+    static synchronized JsonObject export() {
+        final Totals totals = collect();
+        totals.subtract(baseline);
+        if (totals.tasks.isEmpty() && totals.handlers.isEmpty()) {
+            return null;
+        }
+        final JsonObject tasks = new JsonObject();
+        for (Map.Entry<String, long[]> entry : totals.tasks.entrySet()) {
+            final long[] data = entry.getValue();
+            tasks.add(entry.getKey(), JSONUtil.arrayOf(data[0], data[1], data[2]));
+        }
+        final JsonArray handlers = new JsonArray();
+        for (Map.Entry<Integer, long[]> entry : totals.handlers.entrySet()) {
+            final long[] data = entry.getValue();
+            handlers.add(JSONUtil.arrayOf(entry.getKey(), data[0], data[1]));
+        }
+        return JSONUtil.objectBuilder()
+                .add("tasks", tasks)
+                .add("handlers", handlers)
+                .build();
+    }
+
+    private static Totals collect() {
+        final Totals totals = new Totals();
+        for (Iterator<ThreadRecord> it = RECORDS.iterator(); it.hasNext(); ) {
+            final ThreadRecord record = it.next();
+            if (!record.thread.isAlive()) {
+                // A dead thread will never write again, fold it in for good
+                retired.add(record);
+                it.remove();
+            } else {
+                totals.add(record);
+            }
+        }
+        totals.add(retired);
+        return totals;
+    }
+
+    /**
+     * Counters with a single writing thread. The volatile fields make the
+     * writes visible to readers without any atomic read-modify-write.
+     */
+    static final class AsyncData {
+
+        volatile long count;
+        volatile long totalTime;
+        volatile long queueTime;
+
+        void add(long time, long queued) {
+            this.count = this.count + 1;
+            this.totalTime = this.totalTime + time;
+            this.queueTime = this.queueTime + queued;
+        }
+    }
+
+    static final class ThreadRecord {
+
+        final Thread thread;
+        final Map<String, AsyncData> tasks = new ConcurrentHashMap<>();
+        final Map<Integer, AsyncData> handlers = new ConcurrentHashMap<>();
+        // Handlers being timed on this thread, only used by the owner
+        private TimingHandler[] stack = new TimingHandler[8];
+        private long[] starts = new long[8];
+        private int depth;
+
+        ThreadRecord(Thread thread) {
+            this.thread = thread;
+        }
+
+        void push(TimingHandler handler, long start) {
+            if (this.depth == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+                this.starts = Arrays.copyOf(this.starts, this.depth * 2);
+            }
+            this.stack[this.depth] = handler;
+            this.starts[this.depth++] = start;
+        }
+
+        long pop(TimingHandler handler) {
+            // Unwind to the handler, dropping any that were never stopped
+            for (int i = this.depth - 1; i >= 0; i--) {
+                if (this.stack[i] == handler) {
+                    final long start = this.starts[i];
+                    Arrays.fill(this.stack, i, this.depth, null);
+                    this.depth = i;
+                    return start;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Summed {@code [count, totalTime, queueTime]} per plugin and
+     * {@code [count, totalTime]} per handler.
+     */
+    private static final class Totals {
+
+        final Map<String, long[]> tasks = new HashMap<>();
+        final Map<Integer, long[]> handlers = new HashMap<>();
+
+        void add(ThreadRecord record) {
+            for (Map.Entry<String, AsyncData> entry : record.tasks.entrySet()) {
+                final AsyncData data = entry.getValue();
+                final long[] total = this.tasks.computeIfAbsent(entry.getKey(), key -> new long[3]);
+                total[0] += data.count;
+                total[1] += data.totalTime;
+                total[2] += data.queueTime;
+            }
+            for (Map.Entry<Integer, AsyncData> entry : record.handlers.entrySet()) {
+                final AsyncData data = entry.getValue();
+                final long[] total = this.handlers.computeIfAbsent(entry.getKey(), key -> new long[2]);
+                total[0] += data.count;
+                total[1] += data.totalTime;
+            }
+        }
+
+        void add(Totals other) {
+            merge(this.tasks, other.tasks, 1);
+            merge(this.handlers, other.handlers, 1);
+        }
+
+        void subtract(Totals other) {
+            merge(this.tasks, other.tasks, -1);
+            merge(this.handlers, other.handlers, -1);
+            this.tasks.values().removeIf(total -> total[0] <= 0);
+            this.handlers.values().removeIf(total -> total[0] <= 0);
+        }
+
+        private static <K> void merge(Map<K, long[]> target, Map<K, long[]> source, int sign) {
+            for (Map.Entry<K, long[]> entry : source.entrySet()) {
+                final long[] values = entry.getValue();
+                final long[] total = target.computeIfAbsent(entry.getKey(), key -> new long[values.length]);
+                for (int i = 0; i < values.length; i++) {
+                    total[i] += sign * values[i];
+                }
+            }
+        }
+    }
+
+}
@@ -94,6 +94,18 @@ public static Timing getPluginTaskTimings(Task task, long period) {
         return SpongeTimingsFactory.ofSafe(plugin, name);
     }
 
+    /**
+     * Records an asynchronous task run by the scheduler. This is safe to call
+     * from any thread.
+     *
+     * @param plugin The owner of the task
+     * @param queueTime Nanoseconds between the task being due and it starting
+     * @param wallTime Nanoseconds the task took to run
+     */
+    public static void recordAsyncTask(PluginContainer plugin, long queueTime, long wallTime) {
+        AsyncTimings.recordTask(plugin, queueTime, wallTime);
+    }
+
     /**
      * Get a named timer for the specified entity type to track type specific
      * timings.
@@ -58,6 +58,9 @@ public void init() {
         setTimingsEnabled(this.moduleEnabled && config.isEnabled());
         setHistoryInterval(config.getHistoryInterval());
         setHistoryLength(config.getHistoryLength());
+        if (config.getReportServerPort() > 0) {
+            TimingsReportServer.start(config.getReportServerPort());
+        }
 
         SpongeImpl.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
@@ -101,6 +104,7 @@ public void setTimingsEnabled(boolean enabled) {
             return;
         }
         this.timingsEnabled = enabled;
+        TimingsManager.timingsEnabled = enabled && !SpongeImpl.getGame().getPlatform().getExecutionType().isClient();
         reset();
     }
 
@@ -112,6 +116,7 @@ public boolean isVerboseTimingsEnabled() {
     @Override
     public void setVerboseTimingsEnabled(boolean enabled) {
         this.verboseEnabled = enabled;
+        TimingsManager.verboseEnabled = enabled;
         TimingsManager.needsRecheckEnabled = true;
     }
 
@@ -174,6 +179,16 @@ public void generateReport(CommandSource sender) {
         TimingsExport.reportTimings(sender);
     }
 
+    /**
+     * Writes a timings report to the report directory regardless of the
+     * configured report target.
+     *
+     * @param sender Who to report to
+     */
+    public static void exportReport(CommandSource sender) {
+        TimingsExport.reportTimings(sender, true);
+    }
+
     public static long getCost() {
         return TimingsExport.getCost();
     }
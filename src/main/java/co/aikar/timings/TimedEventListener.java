@@ -27,7 +27,6 @@
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.plugin.PluginContainer;
-import org.spongepowered.common.SpongeImpl;
 
 import java.lang.reflect.Method;
 
@@ -59,12 +58,16 @@ public TimedEventListener(EventListener<T> listener, PluginContainer plugin, Met
 
     @Override
     public void handle(T event) throws Exception {
-        if (!Timings.isTimingsEnabled() || !SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        if (!TimingsManager.timingsEnabled) {
             this.listener.handle(event);
             return;
         }
+        // Events posted off the main thread are recorded as async timings
         this.timings.startTiming();
-        this.listener.handle(event);
-        this.timings.stopTiming();
+        try {
+            this.listener.handle(event);
+        } finally {
+            this.timings.stopTiming();
+        }
     }
 }
@@ -24,20 +24,22 @@
  */
 package co.aikar.timings;
 
-import co.aikar.util.LoadingIntMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import org.spongepowered.api.Sponge;
-import org.spongepowered.common.SpongeImpl;
+import java.util.Arrays;
 
 class TimingHandler implements Timing {
 
+    private static final TimingData[] NO_CHILDREN = new TimingData[0];
     private static int idPool = 1;
     final int id = idPool++;
 
     final String name;
     private final boolean verbose;
 
-    final Int2ObjectMap<TimingData> children = new LoadingIntMap<>(TimingData.LOADER);
+    // Child records indexed by the id of the child handler, and the same
+    // records packed in insertion order for iteration
+    private TimingData[] childrenById = NO_CHILDREN;
+    TimingData[] children = NO_CHILDREN;
+    int childCount;
 
     final TimingData record;
     private final TimingHandler groupHandler;
@@ -66,7 +68,23 @@ class TimingHandler implements Timing {
     }
 
     final void checkEnabled() {
-        this.enabled = Timings.isTimingsEnabled() && (!this.verbose || Timings.isVerboseTimingsEnabled());
+        this.enabled = TimingsManager.timingsEnabled && (!this.verbose || TimingsManager.verboseEnabled);
+    }
+
+    final TimingData getChild(int childId) {
+        if (childId >= this.childrenById.length) {
+            this.childrenById = Arrays.copyOf(this.childrenById, Math.max(childId + 1, this.childrenById.length * 2));
+        }
+        TimingData child = this.childrenById[childId];
+        if (child == null) {
+            child = new TimingData(childId);
+            this.childrenById[childId] = child;
+            if (this.childCount == this.children.length) {
+                this.children = Arrays.copyOf(this.children, Math.max(4, this.childCount * 2));
+            }
+            this.children[this.childCount++] = child;
+        }
+        return child;
     }
 
     void processTick(boolean violated) {
@@ -77,36 +95,34 @@ void processTick(boolean violated) {
         }
 
         this.record.processTick(violated);
-        for (TimingData handler : this.children.values()) {
-            handler.processTick(violated);
+        final TimingData[] children = this.children;
+        for (int i = 0; i < this.childCount; i++) {
+            children[i].processTick(violated);
         }
     }
 
     @Override
     public void startTimingIfSync() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
-            return;
-        }
-
-        if (Sponge.isServerAvailable() && SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        if (this.enabled && TimingsManager.isMainThread()) {
             startTiming();
         }
     }
 
     @Override
     public void stopTimingIfSync() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
-            return;
-        }
-
-        if (Sponge.isServerAvailable() && SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        if (this.enabled && TimingsManager.isMainThread()) {
             stopTiming();
         }
     }
 
     @Override
     public TimingHandler startTiming() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
+        if (!this.enabled) {
+            return this;
+        }
+        if (!TimingsManager.isMainThread()) {
+            // The handler's own state belongs to the main thread
+            AsyncTimings.startTiming(this);
             return this;
         }
 
@@ -120,17 +136,15 @@ public TimingHandler startTiming() {
 
     @Override
     public void stopTiming() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
+        if (!this.enabled) {
+            return;
+        }
+        if (!TimingsManager.isMainThread()) {
+            AsyncTimings.stopTiming(this);
             return;
         }
 
         if (--this.timingDepth == 0 && this.start != 0) {
-            if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-                SpongeImpl.getLogger().fatal("stopTiming called async for " + this.name);
-                new Throwable().printStackTrace();
-                this.start = 0;
-                return;
-            }
             addDiff(System.nanoTime() - this.start);
             this.start = 0;
         }
@@ -147,7 +161,7 @@ void addDiff(long diff) {
         if (TimingsManager.CURRENT == this) {
             TimingsManager.CURRENT = this.parent;
             if (this.parent != null) {
-                this.parent.children.get(this.id).add(diff);
+                this.parent.getChild(this.id).add(diff);
             }
         }
         this.record.add(diff);
@@ -158,7 +172,7 @@ void addDiff(long diff) {
         }
         if (this.groupHandler != null) {
             this.groupHandler.addDiff(diff);
-            this.groupHandler.children.get(this.id).add(diff);
+            this.groupHandler.getChild(this.id).add(diff);
         }
     }
 
@@ -175,7 +189,9 @@ void reset(boolean full) {
         this.start = 0;
         this.timingDepth = 0;
         this.added = false;
-        this.children.clear();
+        this.childrenById = NO_CHILDREN;
+        this.children = NO_CHILDREN;
+        this.childCount = 0;
         checkEnabled();
     }
 
@@ -49,6 +49,8 @@
 import java.util.Set;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 public class TimingHistory {
 
     public static long lastMinuteTime;
@@ -70,6 +72,8 @@ public class TimingHistory {
     final Set<BlockType> blockTypeSet = Sets.newHashSet();
     final Set<EntityType> entityTypeSet = Sets.newHashSet();
     final JsonObject worlds;
+    // Work done off the main thread, see AsyncTimings
+    @Nullable final JsonObject async;
 
     TimingHistory() {
         this.endTime = System.currentTimeMillis() / 1000;
@@ -92,6 +96,7 @@ public class TimingHistory {
         for (TimingHandler handler : TimingsManager.HANDLERS) {
             this.entries[i++] = new TimingHistoryEntry(handler);
         }
+        this.async = AsyncTimings.export();
 
         final Map<EntityType, Counter> entityCounts = MRUMapCache.of(LoadingMap.of(Maps.newHashMap(), Counter.loader()));
         final Map<BlockType, Counter> tileEntityCounts = MRUMapCache.of(LoadingMap.of(Maps.newHashMap(), Counter.loader()));
@@ -153,6 +158,7 @@ JsonObject export() {
                 .add("w", this.worlds)
                 .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
                 .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
+                .add("as", this.async)
                 .build();
     }
 
@@ -34,10 +34,9 @@ class TimingHistoryEntry {
 
     TimingHistoryEntry(TimingHandler handler) {
         this.data = handler.record.clone();
-        this.children = new TimingData[handler.children.size()];
-        int i = 0;
-        for (TimingData child : handler.children.values()) {
-            this.children[i++] = child.clone();
+        this.children = new TimingData[handler.childCount];
+        for (int i = 0; i < handler.childCount; i++) {
+            this.children[i] = handler.children[i].clone();
         }
     }
 
@@ -57,7 +57,9 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
 
@@ -70,12 +72,14 @@ class TimingsExport extends Thread {
     private final CommandSource sender;
     private final JsonObject out;
     private final TimingHistory[] history;
+    private final boolean toFile;
 
-    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history) {
+    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history, boolean toFile) {
         super("Timings paste thread");
         this.sender = sender;
         this.out = out;
         this.history = history;
+        this.toFile = toFile;
     }
 
     private static String getServerName() {
@@ -83,11 +87,23 @@ private static String getServerName() {
     }
 
     /**
-     * Builds an XML report of the timings to be uploaded for parsing.
+     * Builds a report of the timings, either uploading it or writing it to
+     * the report directory depending on the configured report target.
      *
      * @param sender Who to report to
      */
     static void reportTimings(CommandSource sender) {
+        reportTimings(sender, SpongeImpl.getGlobalConfig().getConfig().getTimings().isFileReportTarget());
+    }
+
+    /**
+     * Builds a report of the timings to be uploaded for parsing, or written
+     * to local files that can be viewed without the timings site.
+     *
+     * @param sender Who to report to
+     * @param toFile Whether to write the report to the report directory
+     */
+    static void reportTimings(CommandSource sender, boolean toFile) {
         Platform platform = SpongeImpl.getGame().getPlatform();
         JsonObjectBuilder builder = JSONUtil.objectBuilder()
                 // Get some basic system details about the server
@@ -178,7 +194,7 @@ static void reportTimings(CommandSource sender) {
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfig().getRootNode())));
 
-        new TimingsExport(sender, builder.build(), history).start();
+        new TimingsExport(sender, builder.build(), history, toFile).start();
     }
 
     static long getCost() {
@@ -256,6 +272,31 @@ public void run() {
 
         this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
 
+        if (this.toFile) {
+            writeReport();
+        } else {
+            uploadReport();
+        }
+    }
+
+    private void writeReport() {
+        try {
+            Path report = TimingsReportFiles.write(this.out);
+            this.sender.sendMessage(Text.of(TextColors.GREEN, "Timings Report written to ", TextColors.YELLOW, report.toString()));
+            Optional<URL> url = TimingsReportServer.getReportUrl(report.getFileName().toString());
+            if (url.isPresent()) {
+                this.sender.sendMessage(Text.of(TextColors.GREEN, "View Timings Report: ", TextActions.openUrl(url.get()), url.get()));
+            }
+            if (!(this.sender instanceof ConsoleSource)) {
+                SpongeImpl.getLogger().info("Timings Report written to " + report);
+            }
+        } catch (IOException ex) {
+            this.sender.sendMessage(Text.of(TextColors.RED, "Error writing timings, check your logs for more information"));
+            SpongeImpl.getLogger().error("Could not write timings", ex);
+        }
+    }
+
+    private void uploadReport() {
         String response = null;
         try {
             HttpURLConnection con = (HttpURLConnection) new URL("http://timings.aikar.co/post").openConnection();
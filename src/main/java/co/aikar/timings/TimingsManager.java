@@ -26,6 +26,7 @@
 
 import co.aikar.util.LoadingMap;
 import com.google.common.collect.EvictingQueue;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.common.SpongeImpl;
@@ -38,6 +39,8 @@
 import java.util.Map;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public final class TimingsManager {
 
     static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = Collections.synchronizedMap(
@@ -60,10 +63,29 @@ public final class TimingsManager {
     static long historyStart = 0;
     static boolean needsFullReset = false;
     static boolean needsRecheckEnabled = false;
+    // Copied from the factory whenever it changes, so handlers don't go
+    // through the API and platform on every check
+    static volatile boolean timingsEnabled = false;
+    static volatile boolean verboseEnabled = true;
+    // Set by the full server tick, which always runs on the main thread
+    @Nullable static volatile Thread mainThread;
 
     private TimingsManager() {
     }
 
+    /**
+     * Gets whether the current thread is the main server thread.
+     *
+     * @return Whether the current thread is the main thread
+     */
+    static boolean isMainThread() {
+        final Thread mainThread = TimingsManager.mainThread;
+        if (mainThread != null) {
+            return Thread.currentThread() == mainThread;
+        }
+        return Sponge.isServerAvailable() && SpongeImpl.getServer().isCallingFromMinecraftThread();
+    }
+
     /**
      * Resets all timing data on the next tick
      */
@@ -96,6 +118,7 @@ static void tick() {
     static void stopServer() {
         Timings.setTimingsEnabled(false);
         recheckEnabled();
+        TimingsReportServer.stop();
     }
 
     static void recheckEnabled() {
@@ -131,6 +154,7 @@ static void resetTimings() {
 
         HANDLERS.clear();
         MINUTE_REPORTS.clear();
+        AsyncTimings.reset();
 
         TimingHistory.resetTicks(true);
         historyStart = System.currentTimeMillis();
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import co.aikar.util.JSONUtil;
+import com.google.common.io.Resources;
+import com.google.gson.JsonObject;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Writes timings reports to the configured report directory as a JSON file
+ * and a standalone HTML viewer with the report embedded.
+ */
+final class TimingsReportFiles {
+
+    static final Pattern REPORT_NAME = Pattern.compile("timings-[0-9-]+\\.(json|html)");
+
+    private static final String VIEWER_RESOURCE = "viewer.html";
+    private static final String REPORT_PLACEHOLDER = "/*TIMINGS_REPORT*/null";
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private TimingsReportFiles() {
+    }
+
+    static Path getDirectory() {
+        return SpongeImpl.getGameDir().resolve(SpongeImpl.getGlobalConfig().getConfig().getTimings().getReportDirectory());
+    }
+
+    /**
+     * Writes the report, returning the path of the HTML viewer.
+     *
+     * @param report The report to write
+     * @return The path of the viewer
+     * @throws IOException If the report could not be written
+     */
+    static Path write(JsonObject report) throws IOException {
+        Path directory = getDirectory();
+        Files.createDirectories(directory);
+
+        String json = JSONUtil.toString(report);
+        String baseName = "timings-" + LocalDateTime.now().format(FILE_DATE_FORMAT);
+        String name = baseName;
+        // Never overwrite an earlier report written within the same millisecond
+        for (int count = 1; ; count++) {
+            try {
+                Files.write(directory.resolve(name + ".json"), json.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                name = baseName + "-" + count;
+            }
+        }
+
+        Path viewer = directory.resolve(name + ".html");
+        Files.write(viewer, embed(readViewer(), json).getBytes(StandardCharsets.UTF_8));
+        return viewer;
+    }
+
+    static String readViewer() throws IOException {
+        return Resources.toString(Resources.getResource(TimingsReportFiles.class, VIEWER_RESOURCE), StandardCharsets.UTF_8);
+    }
+
+    private static String embed(String viewer, String json) {
+        // A "</" inside the report would end the script block early
+        return viewer.replace(REPORT_PLACEHOLDER, json.replace("</", "<\\/"));
+    }
+
+}
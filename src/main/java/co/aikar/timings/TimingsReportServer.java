@@ -0,0 +1,188 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import com.google.common.escape.Escaper;
+import com.google.common.html.HtmlEscapers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Serves written timings reports and the report viewer on the loopback
+ * interface, so reports can be browsed and compared without uploading them.
+ */
+final class TimingsReportServer {
+
+    private static final String REPORTS_PATH = "/reports/";
+    private static final String VIEWER_PATH = "/viewer";
+
+    @Nullable private static HttpServer server;
+    @Nullable private static ExecutorService executor;
+
+    private TimingsReportServer() {
+    }
+
+    static synchronized void start(int port) {
+        stop();
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Timings Report Server")
+                    .setDaemon(true)
+                    .build());
+            httpServer.setExecutor(executor);
+            httpServer.createContext("/", TimingsReportServer::handle);
+            httpServer.start();
+            server = httpServer;
+            SpongeImpl.getLogger().info("Serving timings reports on http://localhost:{}/", port);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not start the timings report server on port " + port, e);
+        }
+    }
+
+    static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    static synchronized Optional<URL> getReportUrl(String fileName) {
+        if (server == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new URL("http", "localhost", server.getAddress().getPort(), REPORTS_PATH + fileName));
+        } catch (MalformedURLException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "Method not allowed".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if ("/".equals(path)) {
+                send(exchange, 200, "text/html", index().getBytes(StandardCharsets.UTF_8));
+            } else if (VIEWER_PATH.equals(path)) {
+                send(exchange, 200, "text/html", TimingsReportFiles.readViewer().getBytes(StandardCharsets.UTF_8));
+            } else if (path.startsWith(REPORTS_PATH)) {
+                sendReport(exchange, path.substring(REPORTS_PATH.length()));
+            } else {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sendReport(HttpExchange exchange, String name) throws IOException {
+        // Only serve report files by name, never arbitrary paths
+        Path report = TimingsReportFiles.getDirectory().resolve(name);
+        if (!TimingsReportFiles.REPORT_NAME.matcher(name).matches() || !Files.isRegularFile(report)) {
+            send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        send(exchange, 200, name.endsWith(".json") ? "application/json" : "text/html", Files.readAllBytes(report));
+    }
+
+    private static String index() throws IOException {
+        List<String> reports = new ArrayList<>();
+        Path directory = TimingsReportFiles.getDirectory();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "timings-*.json")) {
+                for (Path path : stream) {
+                    String name = path.getFileName().toString();
+                    // List only the reports sendReport serves
+                    if (TimingsReportFiles.REPORT_NAME.matcher(name).matches()) {
+                        reports.add(name);
+                    }
+                }
+            }
+        }
+        reports.sort(Collections.reverseOrder());
+
+        Escaper escaper = HtmlEscapers.htmlEscaper();
+        StringBuilder options = new StringBuilder();
+        for (String report : reports) {
+            options.append("<option>").append(escaper.escape(report)).append("</option>");
+        }
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Timings Reports</title></head>"
+                + "<body style=\"font-family: sans-serif\"><h1>Timings Reports</h1>");
+        if (reports.isEmpty()) {
+            html.append("<p>No reports have been written yet. Run <code>/sponge timings export</code> to write one.</p>");
+        } else {
+            html.append("<form action=\"").append(VIEWER_PATH).append("\">")
+                    .append("<label>Report <select name=\"report\">").append(options).append("</select></label> ")
+                    .append("<label>Compare with <select name=\"compare\"><option value=\"\">None</option>").append(options)
+                    .append("</select></label> <button type=\"submit\">View</button></form><ul>");
+            for (String report : reports) {
+                html.append("<li><a href=\"").append(VIEWER_PATH).append("?report=")
+                        .append(escaper.escape(URLEncoder.encode(report, "UTF-8"))).append("\">").append(escaper.escape(report))
+                        .append("</a></li>");
+            }
+            html.append("</ul>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
@@ -24,8 +24,6 @@
  */
 package co.aikar.timings;
 
-import org.spongepowered.common.SpongeImpl;
-
 class UnsafeTimingHandler extends TimingHandler {
 
     UnsafeTimingHandler(TimingIdentifier id) {
@@ -33,7 +31,7 @@ class UnsafeTimingHandler extends TimingHandler {
     }
 
     private static void checkThread() {
-        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        if (!TimingsManager.isMainThread()) {
             throw new IllegalStateException("Calling Timings from Async Operation");
         }
     }
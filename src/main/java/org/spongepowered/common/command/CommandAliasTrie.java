@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.chars.Char2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectSortedMap;
+import org.spongepowered.api.command.CommandMapping;
+import org.spongepowered.api.command.CommandSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.annotation.Nullable;
+
+/**
+ * The registered command aliases, including their
+ * {@code <namespace>:<alias>} forms, in a prefix trie, so that the aliases
+ * starting with what a source has typed so far are found by walking the
+ * typed prefix instead of checking every alias.
+ *
+ * <p>Aliases are stored in lower case, like the dispatcher stores them.
+ * Access must be synchronized externally.</p>
+ */
+final class CommandAliasTrie {
+
+    private final Node root = new Node();
+
+    void add(String alias, CommandMapping mapping) {
+        final String key = alias.toLowerCase(Locale.ENGLISH);
+        Node node = this.root;
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node();
+                node.children.put(c, child);
+            }
+            node = child;
+        }
+        node.alias = key;
+        if (!node.mappings.contains(mapping)) {
+            node.mappings.add(mapping);
+        }
+    }
+
+    void remove(String alias, CommandMapping mapping) {
+        final String key = alias.toLowerCase(Locale.ENGLISH);
+        final Node[] path = new Node[key.length() + 1];
+        path[0] = this.root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].children.get(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        final Node node = path[key.length()];
+        node.mappings.remove(mapping);
+        if (node.mappings.isEmpty()) {
+            node.alias = null;
+        }
+        // Prune the branches no alias goes through anymore
+        for (int i = key.length(); i > 0 && path[i].alias == null && path[i].children.isEmpty(); i--) {
+            path[i - 1].children.remove(key.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Gets the aliases starting with the given prefix, ignoring case, which
+     * have a command the given source may use, in alphabetical order.
+     *
+     * @param source The source completing the alias
+     * @param prefix The start of the alias
+     * @return The matching aliases
+     */
+    List<String> complete(CommandSource source, String prefix) {
+        final String key = prefix.toLowerCase(Locale.ENGLISH);
+        Node node = this.root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return ImmutableList.of();
+        }
+        final List<String> aliases = new ArrayList<>();
+        collect(node, source, aliases);
+        return aliases;
+    }
+
+    private static void collect(Node node, CommandSource source, List<String> aliases) {
+        if (node.alias != null) {
+            for (CommandMapping mapping : node.mappings) {
+                if (mapping.getCallable().testPermission(source)) {
+                    aliases.add(node.alias);
+                    break;
+                }
+            }
+        }
+        for (Node child : node.children.values()) {
+            collect(child, source, aliases);
+        }
+    }
+
+    private static final class Node {
+
+        final Char2ObjectSortedMap<Node> children = new Char2ObjectRBTreeMap<>();
+        final List<CommandMapping> mappings = new ArrayList<>(1);
+        @Nullable String alias;
+
+    }
+
+}
@@ -28,6 +28,7 @@
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.CommandHandler;
 import net.minecraft.command.EntitySelector;
@@ -66,6 +67,9 @@
  */
 public class MinecraftCommandWrapper implements CommandCallable {
     private static final String TRANSLATION_NO_PERMISSION = "commands.generic.permission";
+    // Vanilla commands that only read the world or send messages
+    private static final ImmutableSet<String> NON_MUTATING_COMMANDS = ImmutableSet.of("help", "list", "seed", "banlist", "me", "say", "tell",
+            "tellraw", "testfor", "testforblock", "testforblocks");
     private final PluginContainer owner;
     protected final ICommand command;
     private static final ThreadLocal<Deque<Throwable>> commandErrors = new ThreadLocal<Deque<Throwable>>() {
@@ -224,6 +228,17 @@ public List<String> getSuggestions(CommandSource source, String arguments, @Null
         return suggestions;
     }
 
+    /**
+     * Gets whether the wrapped command is a vanilla command known to leave
+     * the world unchanged, which can run without cause tracking.
+     *
+     * @return Whether the command does not change the world
+     */
+    public boolean isNonMutating() {
+        return this.command.getClass().getName().startsWith("net.minecraft.command.")
+                && NON_MUTATING_COMMANDS.contains(this.command.getCommandName());
+    }
+
     @SuppressWarnings("unchecked")
     public List<String> getNames() {
         return ImmutableList.<String>builder().add(this.command.getCommandName()).addAll(this.command.getCommandAliases()).build();
@@ -84,10 +84,12 @@
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -121,6 +123,7 @@ public static CommandSpec getCommand() {
         nonFlagChildren.register(getEntityInfoCommand(), "entityInfo");
         nonFlagChildren.register(getAuditCommand(), "audit");
         nonFlagChildren.register(getHeapCommand(), "heap");
+        nonFlagChildren.register(getMetricsCommand(), "metrics");
         nonFlagChildren.register(getPluginsCommand(), "plugins");
         nonFlagChildren.register(getTimingsCommand(), "timings");
         nonFlagChildren.register(getWhichCommand(), "which");
@@ -135,6 +138,7 @@ public static CommandSpec getCommand() {
                         INDENT, title("chunks"), LONG_INDENT, "Prints chunk data for a specific dimension or world(s)\n",
                         INDENT, title("conf"), LONG_INDENT, "Configure sponge settings\n",
                         INDENT, title("heap"), LONG_INDENT, "Dump live JVM heap\n",
+                        INDENT, title("metrics"), LONG_INDENT, "Dump current server metrics as JSON\n",
                         INDENT, title("reload"), LONG_INDENT, "Reloads a global, dimension, or world config\n",
                         INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
                         INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
@@ -356,6 +360,26 @@ private static CommandSpec getHeapCommand() {
 
     }
 
+    private static CommandSpec getMetricsCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Dump current server metrics as JSON"))
+                .permission("sponge.command.metrics")
+                .executor((src, args) -> {
+                    if (!SpongeMetrics.isEnabled()) {
+                        src.sendMessage(Text.of(TextColors.RED, "Metrics are disabled, enable them with metrics.enabled in the global config"));
+                        return CommandResult.empty();
+                    }
+                    try {
+                        src.sendMessage(Text.of("Metrics written to: ", SpongeMetrics.dump()));
+                    } catch (IOException e) {
+                        SpongeImpl.getLogger().error("Could not write metrics", e);
+                        throw new CommandException(Text.of("Could not write metrics: ", e.getMessage()), e);
+                    }
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
     private static final Text IMPLEMENTATION_NAME = Text.of(TextColors.YELLOW, TextStyles.BOLD,
             Sponge.getPlatform().getImplementation().getName());
 
@@ -545,6 +569,16 @@ private static CommandCallable getTimingsCommand() {
                             return CommandResult.success();
                         })
                         .build(), "report", "paste")
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            if (!Timings.isTimingsEnabled()) {
+                                src.sendMessage(Text.of("Please enable timings by typing /sponge timings on"));
+                                return CommandResult.empty();
+                            }
+                            SpongeTimingsFactory.exportReport(src);
+                            return CommandResult.success();
+                        })
+                        .build(), "export")
                 .child(CommandSpec.builder()
                         .executor((src, args) -> {
                             Timings.setTimingsEnabled(true);
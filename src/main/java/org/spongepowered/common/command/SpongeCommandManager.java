@@ -69,9 +69,11 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -84,6 +86,11 @@
 /**
  * A simple implementation of {@link CommandManager}.
  * This service calls the appropriate events for a command.
+ *
+ * <p>Command names are completed from a {@link CommandAliasTrie} of all
+ * registered aliases, and completions are remembered per source and input
+ * for the rest of the tick, as clients send a completion request per key
+ * press.</p>
  */
 public class SpongeCommandManager implements CommandManager {
     private final Logger log;
@@ -91,6 +98,9 @@ public class SpongeCommandManager implements CommandManager {
     private final Multimap<PluginContainer, CommandMapping> owners = HashMultimap.create();
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
+    private final CommandAliasTrie aliasTrie = new CommandAliasTrie();
+    private final Map<CompletionKey, List<String>> completionCache = new HashMap<>();
+    private int completionCacheTick = -1;
 
     /**
      * Construct a simple {@link CommandManager}.
@@ -158,6 +168,9 @@ public Optional<CommandMapping> register(Object plugin, CommandCallable callable
             if (mapping.isPresent()) {
                 this.owners.put(container, mapping.get());
                 this.reverseOwners.put(mapping.get(), container);
+                for (String alias : mapping.get().getAllAliases()) {
+                    this.aliasTrie.add(alias, mapping.get());
+                }
             }
 
             return mapping;
@@ -178,6 +191,9 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
     }
 
     private void forgetMapping(CommandMapping mapping) {
+        for (String alias : mapping.getAllAliases()) {
+            this.aliasTrie.remove(alias, mapping);
+        }
         Iterator<CommandMapping> it = this.owners.values().iterator();
         while (it.hasNext()) {
             if (it.next().equals(mapping)) {
@@ -277,7 +293,9 @@ public CommandResult process(CommandSource source, String commandLine) {
 
         try {
             try {
-                if (CauseTracker.ENABLED && SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+                final boolean tracked = CauseTracker.ENABLED && SpongeImpl.getServer().isCallingFromMinecraftThread()
+                        && requiresTracking(source, argSplit[0]);
+                if (tracked) {
                     final String commandUsed = commandLine;
                     Sponge.getServer().getWorlds().forEach(world -> {
                         final IMixinWorldServer mixinWorld = (IMixinWorldServer) world;
@@ -290,7 +308,7 @@ public CommandResult process(CommandSource source, String commandLine) {
                     });
                 }
                 final CommandResult result = this.dispatcher.process(source, commandLine);
-                if (CauseTracker.ENABLED && SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+                if (tracked) {
                     Sponge.getServer().getWorlds().forEach(world -> {
                         final IMixinWorldServer mixinWorld = (IMixinWorldServer) world;
                         try {
@@ -348,11 +366,40 @@ public CommandResult process(CommandSource source, String commandLine) {
         return CommandResult.empty();
     }
 
+    /**
+     * Gets whether the command run by the given alias has to be run in the
+     * command phase of the cause trackers. Vanilla commands known to leave
+     * the world unchanged, and commands with an alias listed as untracked in
+     * the global config, skip the phase and its captures.
+     */
+    private boolean requiresTracking(CommandSource source, String alias) {
+        final Optional<? extends CommandMapping> mapping = this.dispatcher.get(alias, source);
+        if (!mapping.isPresent()) {
+            return true;
+        }
+        final CommandCallable callable = mapping.get().getCallable();
+        if (callable instanceof MinecraftCommandWrapper && ((MinecraftCommandWrapper) callable).isNonMutating()) {
+            return false;
+        }
+        final List<String> untracked = SpongeImpl.getGlobalConfig().getConfig().getCommands().getUntrackedCommands();
+        if (!untracked.isEmpty()) {
+            // Aliases are matched ignoring case, like the dispatcher does
+            for (String mappingAlias : mapping.get().getAllAliases()) {
+                for (String untrackedAlias : untracked) {
+                    if (untrackedAlias.equalsIgnoreCase(mappingAlias)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
     @Override
     public List<String> getSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition) {
         try {
             final String[] argSplit = arguments.split(" ", 2);
-            List<String> suggestions = new ArrayList<>(this.dispatcher.getSuggestions(src, arguments, targetPosition));
+            List<String> suggestions = new ArrayList<>(getCompletions(src, arguments, argSplit, targetPosition));
             final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Cause.source(src).build(),
                     ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments);
             Sponge.getGame().getEventManager().post(event);
@@ -367,6 +414,37 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
         }
     }
 
+    private List<String> getCompletions(CommandSource src, String arguments, String[] argSplit, @Nullable Location<World> targetPosition)
+            throws CommandException {
+        final int tick = SpongeImpl.getServer().getTickCounter();
+        final CompletionKey key = new CompletionKey(src, arguments, targetPosition);
+        synchronized (this.completionCache) {
+            if (this.completionCacheTick != tick) {
+                this.completionCache.clear();
+                this.completionCacheTick = tick;
+            }
+            final List<String> completions = this.completionCache.get(key);
+            if (completions != null) {
+                return completions;
+            }
+        }
+
+        final List<String> completions;
+        if (argSplit.length == 1) {
+            synchronized (this.lock) {
+                completions = ImmutableList.copyOf(this.aliasTrie.complete(src, argSplit[0]));
+            }
+        } else {
+            completions = ImmutableList.copyOf(this.dispatcher.getSuggestions(src, arguments, targetPosition));
+        }
+        synchronized (this.completionCache) {
+            if (this.completionCacheTick == tick) {
+                this.completionCache.put(key, completions);
+            }
+        }
+        return completions;
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
@@ -391,4 +469,36 @@ public Text getUsage(CommandSource source) {
     public int size() {
         return this.dispatcher.size();
     }
+
+    private static final class CompletionKey {
+
+        private final CommandSource source;
+        private final String arguments;
+        @Nullable private final Location<World> targetPosition;
+
+        CompletionKey(CommandSource source, String arguments, @Nullable Location<World> targetPosition) {
+            this.source = source;
+            this.arguments = arguments;
+            this.targetPosition = targetPosition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CompletionKey)) {
+                return false;
+            }
+            final CompletionKey that = (CompletionKey) o;
+            return this.source == that.source
+                    && this.arguments.equals(that.arguments)
+                    && Objects.equals(this.targetPosition, that.targetPosition);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(this.source) + this.arguments.hashCode()) + Objects.hashCode(this.targetPosition);
+        }
+    }
 }
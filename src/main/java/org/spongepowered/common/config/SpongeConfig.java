@@ -25,6 +25,7 @@
 package org.spongepowered.common.config;
 
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
@@ -32,6 +33,7 @@
 import ninja.leaping.configurate.objectmapping.ObjectMapper;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.type.ConfigBase;
@@ -41,10 +43,19 @@
 import org.spongepowered.common.util.IpSet;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SpongeConfig<T extends ConfigBase> {
 
@@ -68,6 +79,13 @@ public enum Type {
             + "# IRC: #sponge @ irc.esper.net ( http://webchat.esper.net/?channel=sponge )\n"
             + "# Forums: https://forums.spongepowered.org/\n";
 
+    // Delay before a deferred save is written, saves requested in the meantime are coalesced
+    private static final long SAVE_DELAY_MILLIS = 2000;
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+    private static final ScheduledExecutorService SAVER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Config Saver").setDaemon(true).build());
+    private static final Set<SpongeConfig<?>> PENDING_SAVES = ConcurrentHashMap.newKeySet();
+
     private Type type;
     private HoconConfigurationLoader loader;
     private CommentedConfigurationNode root = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults()
@@ -75,12 +93,21 @@ public enum Type {
     private ObjectMapper<T>.BoundInstance configMapper;
     private T configBase;
     private String modId;
+    private Path path;
+    // Whether the config objects changed since they were last serialized
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // The latest snapshot waiting for the saver, null if there is none
+    private final AtomicReference<CommentedConfigurationNode> pendingSnapshot = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    // Bumped whenever the mapped config objects may have changed
+    private volatile int revision;
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     public SpongeConfig(Type type, Path path, String modId) {
 
         this.type = type;
         this.modId = modId;
+        this.path = path;
 
         try {
             Files.createDirectories(path.getParent());
@@ -102,22 +129,130 @@ public T getConfig() {
         return this.configBase;
     }
 
-    public void save() {
+    public synchronized void save() {
+        this.revision++;
+        this.dirty.set(false);
         try {
             this.configMapper.serialize(this.root.getNode(this.modId));
-            this.loader.save(this.root);
+            synchronized (this.writeLock) {
+                // Supersedes any deferred save which was not written yet
+                PENDING_SAVES.remove(this);
+                this.pendingSnapshot.set(null);
+                writeAtomically(this.root);
+            }
         } catch (IOException | ObjectMappingException e) {
             SpongeImpl.getLogger().error("Failed to save configuration", e);
         }
     }
 
-    public void reload() {
+    /**
+     * Marks the config objects as changed, and writes them from a background
+     * thread after a short delay. Any number of calls made before the delay
+     * runs out result in a single serialization and write of the latest
+     * values.
+     *
+     * <p>Used for data which is populated automatically during gameplay, so
+     * the main thread never waits on serializing or writing the file.</p>
+     */
+    public void saveLater() {
+        PENDING_SAVES.add(this);
+        if (this.dirty.compareAndSet(false, true)) {
+            SAVER.schedule(this::serializeLater, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Runs on the saver thread. Auto populated data is added to the config
+    // objects from the main thread, so they are serialized there between two
+    // tasks rather than while they may be changing.
+    private void serializeLater() {
+        if (Sponge.isServerAvailable() && SpongeImpl.getServer().isServerRunning()) {
+            SpongeImpl.getServer().addScheduledTask(() -> {
+                if (queueDirtySnapshot()) {
+                    SAVER.execute(() -> writePendingSnapshot(1));
+                }
+            });
+        } else if (queueDirtySnapshot()) {
+            writePendingSnapshot(1);
+        }
+    }
+
+    private boolean queueDirtySnapshot() {
+        final SimpleCommentedConfigurationNode snapshot;
+        synchronized (this) {
+            if (!this.dirty.getAndSet(false)) {
+                // Already serialized by a direct save
+                return false;
+            }
+            try {
+                this.configMapper.serialize(this.root.getNode(this.modId));
+            } catch (ObjectMappingException e) {
+                SpongeImpl.getLogger().error("Failed to save configuration", e);
+                return false;
+            }
+            snapshot = SimpleCommentedConfigurationNode.root(this.root.getOptions());
+            snapshot.setValue(this.root);
+        }
+        this.pendingSnapshot.set(snapshot);
+        return true;
+    }
+
+    private void writePendingSnapshot(int attempt) {
+        synchronized (this.writeLock) {
+            if (!this.dirty.get()) {
+                PENDING_SAVES.remove(this);
+            }
+            final CommentedConfigurationNode snapshot = this.pendingSnapshot.getAndSet(null);
+            if (snapshot == null) {
+                // Already written by a direct save or a flush
+                return;
+            }
+            try {
+                writeAtomically(snapshot);
+            } catch (IOException e) {
+                if (attempt >= MAX_SAVE_ATTEMPTS) {
+                    SpongeImpl.getLogger().warn("Failed to save configuration {}, giving up after {} attempts", this.path, attempt, e);
+                    return;
+                }
+                SpongeImpl.getLogger().warn("Failed to save configuration {}, retrying", this.path, e);
+                // Unless a newer snapshot was queued in the meantime
+                if (this.pendingSnapshot.compareAndSet(null, snapshot)) {
+                    PENDING_SAVES.add(this);
+                    SAVER.schedule(() -> writePendingSnapshot(attempt + 1), SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes and writes every config with a pending deferred save, on the
+     * calling thread.
+     */
+    public static void flushPendingSaves() {
+        for (SpongeConfig<?> config : PENDING_SAVES) {
+            config.queueDirtySnapshot();
+            config.writePendingSnapshot(MAX_SAVE_ATTEMPTS);
+        }
+    }
+
+    private void writeAtomically(CommentedConfigurationNode node) throws IOException {
+        // Write to a sibling file first so the config is never left half written
+        final Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        HoconConfigurationLoader.builder().setPath(temp).build().save(node);
+        try {
+            Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public synchronized void reload() {
         try {
             this.root = this.loader.load(ConfigurationOptions.defaults()
                     .setSerializers(
                             TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(IpSet.class), new IpSet.IpSetSerializer()))
                     .setHeader(HEADER));
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            this.revision++;
         } catch (Exception e) {
             SpongeImpl.getLogger().error("Failed to load configuration", e);
         }
@@ -127,8 +262,13 @@ public CompletableFuture<CommentedConfigurationNode> updateSetting(String key, O
         return Functional.asyncFailableFuture(() -> {
             CommentedConfigurationNode upd = getSetting(key);
             upd.setValue(value);
-            this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
-            this.loader.save(this.root);
+            synchronized (this) {
+                this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+                this.revision++;
+                synchronized (this.writeLock) {
+                    writeAtomically(this.root);
+                }
+            }
             return upd;
         }, ForkJoinPool.commonPool());
     }
@@ -149,6 +289,18 @@ public CommentedConfigurationNode getSetting(String key) {
         }
     }
 
+    /**
+     * Gets a counter which changes whenever the config objects of this config
+     * may have been changed by a reload, an update or a direct save. Auto
+     * populated data saved through {@link #saveLater()} leaves it unchanged,
+     * as it only records the values already in use.
+     *
+     * @return The revision
+     */
+    public int getRevision() {
+        return this.revision;
+    }
+
     public Type getType() {
         return this.type;
     }
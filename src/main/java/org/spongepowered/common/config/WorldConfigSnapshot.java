@@ -0,0 +1,232 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.CollisionModCategory;
+import org.spongepowered.common.config.category.EntityActivationModCategory;
+import org.spongepowered.common.config.category.EntityActivationRangeCategory;
+import org.spongepowered.common.config.category.EntityCollisionCategory;
+import org.spongepowered.common.config.type.ConfigBase;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationRange;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compiled view of the parts of a world's active {@link SpongeConfig}
+ * that are read on hot paths.
+ *
+ * <p>Id lists are turned in to arrays indexed by block id, and the nested
+ * per mod collision and activation categories are resolved once per entity
+ * type. Types whose settings would be auto populated on first use are left
+ * {@link #UNRESOLVED}, callers fall back to the live config for those and
+ * store the value they resolved back in to the snapshot. The snapshot is
+ * rebuilt once the config is reloaded or updated.</p>
+ */
+public final class WorldConfigSnapshot {
+
+    /**
+     * Returned when the snapshot has no value and the live config must be
+     * consulted.
+     */
+    public static final int UNRESOLVED = Integer.MIN_VALUE;
+
+    /**
+     * Returned as an activation range when the entity keeps its current
+     * activation range.
+     */
+    public static final int KEEP_RANGE = Integer.MIN_VALUE + 1;
+
+    // Activation types are 1 to 5, see ActivationRange#activationTypeMappings
+    private static final int ACTIVATION_TYPES = 6;
+
+    private final int revision;
+    private final boolean[] blockTrackingBlacklist;
+    private final Reference2IntOpenHashMap<EntityType> maxCollisions = new Reference2IntOpenHashMap<>();
+    private final Reference2ObjectOpenHashMap<EntityType, int[]> activationRanges = new Reference2ObjectOpenHashMap<>();
+    private final Reference2ObjectOpenHashMap<EntityType, boolean[]> alwaysActive = new Reference2ObjectOpenHashMap<>();
+
+    public WorldConfigSnapshot(SpongeConfig<?> config) {
+        this.revision = config.getRevision();
+        final ConfigBase base = config.getConfig();
+        this.blockTrackingBlacklist = compileBlockBlacklist(base);
+        this.maxCollisions.defaultReturnValue(UNRESOLVED);
+        for (EntityType type : SpongeImpl.getRegistry().getAllOf(EntityType.class)) {
+            if (!(type instanceof SpongeEntityType)) {
+                continue;
+            }
+            final SpongeEntityType spongeType = (SpongeEntityType) type;
+            this.maxCollisions.put(type, resolveMaxCollisions(base.getEntityCollisionCategory(), spongeType));
+            final int[] ranges = new int[ACTIVATION_TYPES];
+            final boolean[] active = new boolean[ACTIVATION_TYPES];
+            ranges[0] = UNRESOLVED;
+            for (byte activationType = 1; activationType < ACTIVATION_TYPES; activationType++) {
+                resolveActivation(base.getEntityActivationRange(), spongeType, activationType, ranges, active);
+            }
+            this.activationRanges.put(type, ranges);
+            this.alwaysActive.put(type, active);
+        }
+    }
+
+    public int getRevision() {
+        return this.revision;
+    }
+
+    public boolean isBlockTrackingBlacklisted(Block block) {
+        final int id = Block.getIdFromBlock(block);
+        return id >= 0 && id < this.blockTrackingBlacklist.length && this.blockTrackingBlacklist[id];
+    }
+
+    /**
+     * Gets the maximum entity collisions of entities of the given type.
+     *
+     * @param type The entity type
+     * @return The maximum collisions, or {@link #UNRESOLVED}
+     */
+    public int getMaxCollisions(EntityType type) {
+        return this.maxCollisions.getInt(type);
+    }
+
+    /**
+     * Sets the maximum entity collisions of entities of the given type, once
+     * resolved from the live config.
+     *
+     * @param type The entity type
+     * @param maxCollisions The maximum collisions
+     */
+    public void setMaxCollisions(EntityType type, int maxCollisions) {
+        this.maxCollisions.put(type, maxCollisions);
+    }
+
+    /**
+     * Gets the activation range of entities of the given type and activation
+     * type.
+     *
+     * @param type The entity type
+     * @param activationType The activation type
+     * @return The activation range, {@link #KEEP_RANGE} or {@link #UNRESOLVED}
+     */
+    public int getActivationRange(EntityType type, byte activationType) {
+        final int[] ranges = this.activationRanges.get(type);
+        if (ranges == null || activationType <= 0 || activationType >= ACTIVATION_TYPES) {
+            return UNRESOLVED;
+        }
+        return ranges[activationType];
+    }
+
+    /**
+     * Gets whether entities of the given type and activation type are always
+     * active. Only meaningful when {@link #getActivationRange} is resolved.
+     *
+     * @param type The entity type
+     * @param activationType The activation type
+     * @return Whether the entities are always active
+     */
+    public boolean isAlwaysActive(EntityType type, byte activationType) {
+        final boolean[] active = this.alwaysActive.get(type);
+        return active != null && activationType > 0 && activationType < ACTIVATION_TYPES && active[activationType];
+    }
+
+    private static boolean[] compileBlockBlacklist(ConfigBase base) {
+        final Set<String> ids = new HashSet<>(base.getBlockTracking().getBlockBlacklist());
+        int maxId = 0;
+        for (Block block : Block.REGISTRY) {
+            maxId = Math.max(maxId, Block.getIdFromBlock(block));
+        }
+        final boolean[] blacklist = new boolean[maxId + 1];
+        if (!ids.isEmpty()) {
+            for (Block block : Block.REGISTRY) {
+                if (ids.contains(((BlockType) block).getId())) {
+                    blacklist[Block.getIdFromBlock(block)] = true;
+                }
+            }
+        }
+        return blacklist;
+    }
+
+    // Mirrors MixinEntity_Collisions#initializeCollisionState for entities
+    // named after their type
+    private static int resolveMaxCollisions(EntityCollisionCategory collisionCat, SpongeEntityType type) {
+        int maxCollisions = collisionCat.getMaxEntitiesWithinAABB();
+        final CollisionModCategory collisionMod = collisionCat.getModList().get(type.getModId());
+        if (collisionMod == null) {
+            return collisionCat.autoPopulateData() ? UNRESOLVED : maxCollisions;
+        }
+        if (!collisionMod.isEnabled()) {
+            return -1;
+        }
+        final Integer modCollisionMax = collisionMod.getDefaultMaxCollisions().get("entities");
+        if (modCollisionMax != null) {
+            maxCollisions = modCollisionMax;
+        }
+        final Integer entityMaxCollision = collisionMod.getEntityList().get(type.getName());
+        if (entityMaxCollision != null) {
+            return entityMaxCollision;
+        }
+        return collisionCat.autoPopulateData() ? UNRESOLVED : maxCollisions;
+    }
+
+    // Mirrors the config lookups of ActivationRange#initializeEntityActivationState
+    private static void resolveActivation(EntityActivationRangeCategory config, SpongeEntityType type, byte activationType, int[] ranges,
+            boolean[] active) {
+        final String typeName = ActivationRange.activationTypeMappings.get(activationType);
+        final Integer defaultActivationRange = config.getDefaultRanges().get(typeName);
+        if (defaultActivationRange == null) {
+            ranges[activationType] = UNRESOLVED;
+            return;
+        }
+        final EntityActivationModCategory entityMod = config.getModList().get(type.getModId());
+        if (entityMod == null) {
+            setActivation(ranges, active, activationType, defaultActivationRange, defaultActivationRange <= 0);
+            return;
+        } else if (!entityMod.isEnabled()) {
+            setActivation(ranges, active, activationType, defaultActivationRange, true);
+            return;
+        }
+        final Integer defaultModActivationRange = entityMod.getDefaultRanges().get(typeName);
+        final Integer entityActivationRange = entityMod.getEntityList().get(type.getName());
+        if (defaultModActivationRange != null && entityActivationRange == null) {
+            setActivation(ranges, active, activationType, defaultModActivationRange, defaultModActivationRange <= 0);
+        } else if (entityActivationRange != null) {
+            setActivation(ranges, active, activationType, entityActivationRange, entityActivationRange <= 0);
+        } else {
+            setActivation(ranges, active, activationType, KEEP_RANGE, false);
+        }
+    }
+
+    private static void setActivation(int[] ranges, boolean[] active, byte activationType, int range, boolean alwaysActive) {
+        ranges[activationType] = range;
+        active[activationType] = alwaysActive;
+    }
+
+}
@@ -27,7 +27,9 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ConfigSerializable
@@ -36,7 +38,16 @@ public class CommandsCategory extends ConfigCategory {
     @Setting(comment = "A mapping from unqualified command alias to plugin id of the plugin that should handle a certain command")
     private Map<String, String> aliases = new HashMap<>();
 
+    @Setting(value = "untracked-commands", comment = "Aliases of commands that never change the world, which run without cause tracking.\n"
+            + "Changes made by these commands are not captured and throw no events caused by the command.\n"
+            + "Vanilla commands such as list, tell and seed are detected and do not need to be listed.")
+    private List<String> untrackedCommands = new ArrayList<>();
+
     public Map<String, String> getAliases() {
         return this.aliases;
     }
+
+    public List<String> getUntrackedCommands() {
+        return this.untrackedCommands;
+    }
 }
\ No newline at end of file
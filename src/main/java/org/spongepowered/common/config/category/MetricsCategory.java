@@ -0,0 +1,55 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class MetricsCategory extends ConfigCategory {
+
+    @Setting(comment = "If enabled, tick, world, chunk, entity, event and scheduler statistics are collected continuously.")
+    private boolean enabled = false;
+
+    @Setting(value = "server-port", comment = "If above 0, metrics are served in the Prometheus text format at /metrics on this port. "
+            + "The server only listens on the loopback address.")
+    private int serverPort = 0;
+
+    @Setting(value = "snapshot-interval", comment = "How often, in ticks, per world statistics are sampled. Sampling walks the loaded "
+            + "entity and tile entity lists of every world.")
+    private int snapshotInterval = 100;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getServerPort() {
+        return this.serverPort;
+    }
+
+    public int getSnapshotInterval() {
+        return Math.max(1, this.snapshotInterval);
+    }
+}
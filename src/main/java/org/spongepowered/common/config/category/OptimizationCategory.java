@@ -56,6 +56,20 @@ public class OptimizationCategory extends ConfigCategory {
                                                                + "world heights and can thus be disabled in those cases.")
     private boolean inlineBlockPositionChecks = true;
 
+    @Setting(value = "cached-explosion-exposure", comment = "Caches the block states, explosion resistances and entity exposures\n"
+                                                             + "looked up by explosions until the end of the current tick, so that\n"
+                                                             + "co-located explosions such as the ones of TNT cannons share the rays\n"
+                                                             + "cast by their predecessors. Any block change invalidates the cached\n"
+                                                             + "values it affects.")
+    private boolean cachedExplosionExposure = false;
+
+    @Setting(value = "bucketed-entity-tracker", comment = "Only updates entity tracker entries on the ticks they would send\n"
+                                                           + "anything on, instead of every entry every tick. Entries are updated\n"
+                                                           + "early when their entity changes off schedule, and moving players are\n"
+                                                           + "only checked against entities in nearby chunks. Mods sending entity\n"
+                                                           + "updates through unusual paths may see them delayed by a few ticks.")
+    private boolean bucketedEntityTracker = false;
+
     public boolean useIgnoreUloadedChunkLightingPatch() {
         return this.ignoreUnloadedChunkLighting;
     }
@@ -68,7 +82,6 @@ public boolean doDropsPreMergeItemDrops() {
         return this.preItemDropMerge;
     }
 
-
     public boolean useCacheTameableOwners() {
         return this.cacheTameableOwners;
     }
@@ -76,4 +89,12 @@ public boolean useCacheTameableOwners() {
     public boolean isInlineBlockPositionChecks() {
         return this.inlineBlockPositionChecks;
     }
+
+    public boolean useCachedExplosionExposure() {
+        return this.cachedExplosionExposure;
+    }
+
+    public boolean useBucketedEntityTracker() {
+        return this.bucketedEntityTracker;
+    }
 }
\ No newline at end of file
@@ -36,7 +36,38 @@ public class SqlCategory extends ConfigCategory {
     @Setting(comment = "Aliases for SQL connections, in the format jdbc:protocol://[username[:password]@]host/database")
     private Map<String, String> aliases = new HashMap<>();
 
+    @Setting(value = "idle-pool-timeout", comment = "How long, in minutes, a connection pool may go without lending a connection "
+            + "before it is closed. It is reopened when a connection is requested again. 0 keeps pools open.")
+    private int idlePoolTimeout = 10;
+
+    @Setting(value = "prepared-statement-cache-size", comment = "The number of prepared statements each connection caches, for "
+            + "drivers supporting it (MySQL and MariaDB). 0 disables the cache.")
+    private int preparedStatementCacheSize = 250;
+
+    @Setting(value = "async-threads", comment = "The number of threads running queries submitted to the async query executor.")
+    private int asyncThreads = 4;
+
+    @Setting(value = "async-queue-size", comment = "The number of queries that may wait for an async query executor thread. "
+            + "Queries submitted while the queue is full fail with a RejectedExecutionException.")
+    private int asyncQueueSize = 1024;
+
     public Map<String, String> getAliases() {
         return this.aliases;
     }
+
+    public int getIdlePoolTimeout() {
+        return Math.max(0, this.idlePoolTimeout);
+    }
+
+    public int getPreparedStatementCacheSize() {
+        return Math.max(0, this.preparedStatementCacheSize);
+    }
+
+    public int getAsyncThreads() {
+        return Math.max(1, this.asyncThreads);
+    }
+
+    public int getAsyncQueueSize() {
+        return Math.max(0, this.asyncQueueSize);
+    }
 }
\ No newline at end of file
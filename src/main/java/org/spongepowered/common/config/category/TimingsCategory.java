@@ -51,6 +51,17 @@ public class TimingsCategory extends ConfigCategory {
     @Setting("history-length")
     private int historyLength = 3600;
 
+    @Setting(value = "report-target", comment = "Where '/sponge timings report' sends reports. 'upload' posts them to timings.aikar.co, "
+            + "'file' writes them to the report directory, to be opened with the bundled viewer.")
+    private String reportTarget = "upload";
+
+    @Setting(value = "report-directory", comment = "The directory, relative to the game directory, that timings reports are written to.")
+    private String reportDirectory = "timings";
+
+    @Setting(value = "report-server-port", comment = "If above 0, written timings reports are served over HTTP on this port. "
+            + "The server only listens on the loopback address.")
+    private int reportServerPort = 0;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -83,4 +94,16 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
+    public boolean isFileReportTarget() {
+        return "file".equalsIgnoreCase(this.reportTarget);
+    }
+
+    public String getReportDirectory() {
+        return this.reportDirectory;
+    }
+
+    public int getReportServerPort() {
+        return this.reportServerPort;
+    }
+
 }
\ No newline at end of file
@@ -35,10 +35,12 @@
 import org.spongepowered.common.config.category.CommandsCategory;
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalWorldCategory;
+import org.spongepowered.common.config.category.MetricsCategory;
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.net.InetAddress;
 import java.util.HashMap;
@@ -61,6 +63,10 @@ public class GlobalConfig extends ConfigBase {
     @Setting("ip-sets")
     private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+    // The ip sets compiled for lookups, rebuilt when the ip sets are reloaded
+    @Nullable private IpSetTrie ipSetTrie;
+    @Nullable private Map<String, List<IpSet>> ipSetTrieSource;
+
     @Setting(value = "bungeecord")
     private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
@@ -70,6 +76,9 @@ public class GlobalConfig extends ConfigBase {
     @Setting(value = "optimizations")
     private OptimizationCategory optimizations = new OptimizationCategory();
 
+    @Setting(comment = "Configuration options related to the built-in metrics exporter")
+    private MetricsCategory metrics = new MetricsCategory();
+
     @Setting
     protected GlobalWorldCategory world = new GlobalWorldCategory();
 
@@ -106,6 +115,13 @@ public Predicate<InetAddress> apply(List<IpSet> input) {
         }));
     }
 
+    public IpSetTrie getIpSetTrie() {
+        if (this.ipSetTrie == null || this.ipSetTrieSource != this.ipSets) {
+            this.ipSetTrie = new IpSetTrie(this.ipSets);
+            this.ipSetTrieSource = this.ipSets;
+        }
+        return this.ipSetTrie;
+    }
 
     public ExploitCategory getExploits() {
         return this.exploits;
@@ -115,6 +131,10 @@ public OptimizationCategory getOptimizations() {
         return this.optimizations;
     }
 
+    public MetricsCategory getMetrics() {
+        return this.metrics;
+    }
+
     public Predicate<InetAddress> getIpSet(String name) {
         return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
     }
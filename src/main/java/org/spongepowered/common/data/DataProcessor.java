@@ -55,6 +55,21 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Checks if instances of the provided class may be supported by this
+     * {@link DataProcessor}, in which case {@link #supports(DataHolder)}
+     * still decides for each holder. Delegates resolve this once per holder
+     * class to skip the processors that can never apply, so this must not
+     * return false for any class that {@link #supports(DataHolder)} could
+     * accept an instance of.
+     *
+     * @param holderClass The class of the data holder
+     * @return False if no instance of the class is ever supported
+     */
+    default boolean supportsHolderClass(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
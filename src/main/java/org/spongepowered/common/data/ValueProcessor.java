@@ -139,6 +139,21 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if instances of the provided class may be supported by this
+     * {@link ValueProcessor}, in which case {@link #supports(ValueContainer)}
+     * still decides for each container. Delegates resolve this once per
+     * container class to skip the processors that can never apply, so this
+     * must not return false for any class that
+     * {@link #supports(ValueContainer)} could accept an instance of.
+     *
+     * @param containerClass The class of the value container
+     * @return False if no instance of the class is ever supported
+     */
+    default boolean supportsContainerClass(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
@@ -24,8 +24,6 @@
  */
 package org.spongepowered.common.data.persistence;
 
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataFormat;
@@ -54,8 +52,7 @@ public DataContainer readFrom(InputStream input) throws InvalidDataFormatExcepti
             dis = new DataInputStream(input);
         }
         try {
-            NBTTagCompound tag = CompressedStreamTools.read(dis);
-            return NbtTranslator.getInstance().translateFrom(tag);
+            return NbtTranslator.getInstance().read(dis);
         } finally {
             dis.close();
         }
@@ -64,7 +61,6 @@ public DataContainer readFrom(InputStream input) throws InvalidDataFormatExcepti
     @Override
     @SuppressWarnings("resource")
     public void writeTo(OutputStream output, DataView data) throws IOException {
-        NBTTagCompound tag = NbtTranslator.getInstance().translateData(data);
         DataOutputStream dos;
         if (output instanceof DataOutputStream) {
             dos = (DataOutputStream) output;
@@ -72,7 +68,7 @@ public void writeTo(OutputStream output, DataView data) throws IOException {
             dos = new DataOutputStream(output);
         }
         try {
-            CompressedStreamTools.write(tag, dos);
+            NbtTranslator.getInstance().write(dos, data);
         } finally {
             dos.close();
         }
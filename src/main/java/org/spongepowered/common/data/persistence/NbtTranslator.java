@@ -52,14 +52,21 @@
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.common.data.util.NbtDataUtil;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
 
     private static final NbtTranslator instance = new NbtTranslator();
     private static final TypeToken<NBTTagCompound> TOKEN = TypeToken.of(NBTTagCompound.class);
     public static final String BOOLEAN_IDENTIFER = "$Boolean";
+    // Same limit as NBTTagCompound#read
+    private static final int MAX_DEPTH = 512;
 
     public static NbtTranslator getInstance() {
         return instance;
@@ -292,6 +299,360 @@ public DataContainer translateFrom(NBTTagCompound node) {
         return NbtTranslator.getViewFromCompound(node);
     }
 
+    /**
+     * Reads a named root compound tag straight from the given input in to a
+     * new {@link DataContainer}, without building the intermediate
+     * {@link NBTTagCompound} tree. Byte and int arrays are stored as they are
+     * read, unboxed.
+     *
+     * <p>The produced container is equal to the one produced by
+     * {@link #translateFrom(NBTTagCompound)} for the same tag.</p>
+     *
+     * @param input The input to read from
+     * @return The read container
+     * @throws IOException If the input could not be read or is not a compound
+     */
+    public DataContainer read(DataInput input) throws IOException {
+        checkNotNull(input);
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        final byte type = input.readByte();
+        if (type == NbtDataUtil.TAG_END) {
+            return container;
+        }
+        if (type != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        input.readUTF();
+        readCompound(input, container, 0);
+        return container;
+    }
+
+    /**
+     * Reads a named root compound tag from the given input, but only
+     * translates the compound stored under the given key of the root. All
+     * other entries of the root are skipped over without being translated.
+     *
+     * @param input The input to read from
+     * @param key The key of the compound within the root
+     * @return The read compound, or null if the root has no such compound
+     * @throws IOException If the input could not be read or is not a compound
+     */
+    @Nullable
+    public DataContainer readCompound(DataInput input, String key) throws IOException {
+        checkNotNull(input);
+        checkNotNull(key);
+        final byte rootType = input.readByte();
+        if (rootType == NbtDataUtil.TAG_END) {
+            return null;
+        }
+        if (rootType != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        input.readUTF();
+        DataContainer found = null;
+        byte type;
+        while ((type = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String name = input.readUTF();
+            if (found == null && type == NbtDataUtil.TAG_COMPOUND && name.equals(key)) {
+                found = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+                readCompound(input, found, 1);
+            } else {
+                skipPayload(input, type, 1);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes the given view as a named root compound tag straight to the
+     * given output, without building the intermediate {@link NBTTagCompound}
+     * tree. The written data is equivalent to what
+     * {@link net.minecraft.nbt.CompressedStreamTools#write(NBTTagCompound, DataOutput)}
+     * writes for the compound produced by {@link #translateData(DataView)}:
+     * it reads back as an equal compound, but the bytes are not guaranteed
+     * to be identical, e.g. the entries of a compound may be written in a
+     * different order.
+     *
+     * @param output The output to write to
+     * @param view The view to write
+     * @throws IOException If the output could not be written to
+     */
+    public void write(DataOutput output, DataView view) throws IOException {
+        checkNotNull(output);
+        checkNotNull(view);
+        output.writeByte(NbtDataUtil.TAG_COMPOUND);
+        output.writeUTF("");
+        writeView(output, view, 0);
+    }
+
+    private static void readCompound(DataInput input, DataView view, int depth) throws IOException {
+        checkDepth(depth);
+        byte type;
+        while ((type = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String key = input.readUTF();
+            switch (type) {
+                case NbtDataUtil.TAG_BYTE:
+                    final byte value = input.readByte();
+                    if (key.contains(BOOLEAN_IDENTIFER)) {
+                        view.set(of(key.replace(BOOLEAN_IDENTIFER, "")), value == 1);
+                    } else {
+                        view.set(of(key), value);
+                    }
+                    break;
+                case NbtDataUtil.TAG_COMPOUND:
+                    readCompound(input, view.createView(of(key)), depth + 1);
+                    break;
+                default:
+                    view.set(of(key), readPayload(input, type, depth + 1));
+            }
+        }
+    }
+
+    private static Object readPayload(DataInput input, byte type, int depth) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return input.readByte();
+            case NbtDataUtil.TAG_SHORT:
+                return input.readShort();
+            case NbtDataUtil.TAG_INT:
+                return input.readInt();
+            case NbtDataUtil.TAG_LONG:
+                return input.readLong();
+            case NbtDataUtil.TAG_FLOAT:
+                return input.readFloat();
+            case NbtDataUtil.TAG_DOUBLE:
+                return input.readDouble();
+            case NbtDataUtil.TAG_BYTE_ARRAY: {
+                final byte[] array = new byte[input.readInt()];
+                input.readFully(array);
+                return array;
+            }
+            case NbtDataUtil.TAG_STRING:
+                return input.readUTF();
+            case NbtDataUtil.TAG_LIST: {
+                checkDepth(depth);
+                final byte listType = input.readByte();
+                final int count = input.readInt();
+                if (listType == NbtDataUtil.TAG_END && count > 0) {
+                    throw new IOException("Missing type on list tag");
+                }
+                final List<Object> list = Lists.newArrayListWithCapacity(count);
+                for (int i = 0; i < count; i++) {
+                    list.add(readPayload(input, listType, depth + 1));
+                }
+                return list;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+                readCompound(input, container, depth);
+                return container;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY: {
+                final int[] array = new int[input.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = input.readInt();
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void skipPayload(DataInput input, byte type, int depth) throws IOException {
+        checkDepth(depth);
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                input.skipBytes(1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                input.skipBytes(2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                input.skipBytes(4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                input.skipBytes(8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                skipFully(input, input.readInt());
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skipFully(input, input.readUnsignedShort());
+                break;
+            case NbtDataUtil.TAG_LIST:
+                final byte listType = input.readByte();
+                final int count = input.readInt();
+                for (int i = 0; i < count; i++) {
+                    skipPayload(input, listType, depth + 1);
+                }
+                break;
+            case NbtDataUtil.TAG_COMPOUND:
+                byte entryType;
+                while ((entryType = input.readByte()) != NbtDataUtil.TAG_END) {
+                    skipFully(input, input.readUnsignedShort());
+                    skipPayload(input, entryType, depth + 1);
+                }
+                break;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                skipFully(input, input.readInt() * 4);
+                break;
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void skipFully(DataInput input, int bytes) throws IOException {
+        int remaining = bytes;
+        while (remaining > 0) {
+            final int skipped = input.skipBytes(remaining);
+            if (skipped <= 0) {
+                // skipBytes may give up early, readByte will throw at the end of the input
+                input.readByte();
+                remaining--;
+            } else {
+                remaining -= skipped;
+            }
+        }
+    }
+
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+    }
+
+    private static void writeView(DataOutput output, DataView view, int depth) throws IOException {
+        checkDepth(depth);
+        for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+            final Object value = entry.getValue();
+            final String key = entry.getKey().asString('.');
+            if (value instanceof Boolean) {
+                output.writeByte(NbtDataUtil.TAG_BYTE);
+                output.writeUTF(key + BOOLEAN_IDENTIFER);
+                output.writeByte((Boolean) value ? 1 : 0);
+            } else {
+                writeEntry(output, key, value, depth + 1);
+            }
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeEntry(DataOutput output, String key, Object value, int depth) throws IOException {
+        output.writeByte(getTagType(value));
+        output.writeUTF(key);
+        writePayload(output, value, depth);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writePayload(DataOutput output, Object value, int depth) throws IOException {
+        if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            output.writeUTF((String) value);
+        } else if (value instanceof byte[]) {
+            final byte[] array = (byte[]) value;
+            output.writeInt(array.length);
+            output.write(array);
+        } else if (value instanceof Byte[]) {
+            final Byte[] array = (Byte[]) value;
+            output.writeInt(array.length);
+            for (Byte data : array) {
+                output.writeByte(data);
+            }
+        } else if (value instanceof int[]) {
+            final int[] array = (int[]) value;
+            output.writeInt(array.length);
+            for (int data : array) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof Integer[]) {
+            final Integer[] array = (Integer[]) value;
+            output.writeInt(array.length);
+            for (Integer data : array) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof List) {
+            checkDepth(depth);
+            final List<Object> list = (List<Object>) value;
+            // NBTTagList only accepts elements of the type of its first element
+            // and drops anything else, so mirror that here
+            final byte listType = list.isEmpty() ? NbtDataUtil.TAG_END : getTagType(list.get(0));
+            int count = 0;
+            for (Object object : list) {
+                if (getTagType(object) == listType) {
+                    count++;
+                }
+            }
+            output.writeByte(listType);
+            output.writeInt(count);
+            for (Object object : list) {
+                if (getTagType(object) == listType) {
+                    writePayload(output, object, depth + 1);
+                }
+            }
+        } else if (value instanceof Map) {
+            checkDepth(depth);
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                if (entry.getKey() instanceof DataQuery) {
+                    final String key = ((DataQuery) entry.getKey()).asString('.');
+                    writeEntry(output, entry.getValue() instanceof Boolean ? key + BOOLEAN_IDENTIFER : key, entry.getValue(), depth + 1);
+                } else {
+                    writeEntry(output, entry.getKey().toString(), entry.getValue(), depth + 1);
+                }
+            }
+            output.writeByte(NbtDataUtil.TAG_END);
+        } else if (value instanceof DataSerializable) {
+            writeView(output, ((DataSerializable) value).toContainer(), depth);
+        } else if (value instanceof DataView) {
+            writeView(output, (DataView) value, depth);
+        } else {
+            throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+        }
+    }
+
+    private static byte getTagType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
     @Override
     public TypeToken<NBTTagCompound> getToken() {
         return TOKEN;
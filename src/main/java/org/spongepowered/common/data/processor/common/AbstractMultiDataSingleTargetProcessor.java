@@ -55,6 +55,11 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public boolean supportsHolderClass(Class<?> holderClass) {
+        return this.holderClass.isAssignableFrom(holderClass);
+    }
+
     protected boolean supports(Holder dataHolder) {
         return true;
     }
@@ -69,6 +69,11 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public boolean supportsHolderClass(Class<?> holderClass) {
+        return this.holderClass.isAssignableFrom(holderClass);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
@@ -154,6 +159,11 @@ public final boolean supports(ValueContainer<?> container) {
         return this.holderClass.isInstance(container) && supports((Holder) container);
     }
 
+    @Override
+    public boolean supportsContainerClass(Class<?> containerClass) {
+        return this.holderClass.isAssignableFrom(containerClass);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public final Optional<T> getValueFromContainer(ValueContainer<?> container) {
@@ -43,9 +43,32 @@
 
 import java.util.Optional;
 
+/**
+ * Handles processing on multiple {@link DataProcessor} registrations for a
+ * manipulator. The processors that may apply to a holder class are resolved
+ * once per class, so that holder lookups only ask, and time, the processors
+ * that can support the holder.
+ *
+ * @param <M> The type of manipulator
+ * @param <I> The type of immutable manipulator
+ */
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final ClassValue<ImmutableList<Tuple<DataProcessor<M, I>, Timing>>> processorsByClass =
+            new ClassValue<ImmutableList<Tuple<DataProcessor<M, I>, Timing>>>() {
+
+                @Override
+                protected ImmutableList<Tuple<DataProcessor<M, I>, Timing>> computeValue(Class<?> type) {
+                    final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
+                    for (Tuple<DataProcessor<M, I>, Timing> tuple : DataProcessorDelegate.this.processors) {
+                        if (tuple.getFirst().supportsHolderClass(type)) {
+                            builder.add(tuple);
+                        }
+                    }
+                    return builder.build();
+                }
+            };
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -55,6 +78,15 @@ public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         this.processors = builder.build();
     }
 
+    private ImmutableList<Tuple<DataProcessor<M, I>, Timing>> getProcessors(DataHolder dataHolder) {
+        return this.processorsByClass.get(dataHolder.getClass());
+    }
+
+    @Override
+    public boolean supportsHolderClass(Class<?> holderClass) {
+        return !this.processorsByClass.get(holderClass).isEmpty();
+    }
+
     @Override
     public int getPriority() {
         return Integer.MAX_VALUE;
@@ -64,7 +96,7 @@ public int getPriority() {
     public boolean supports(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -90,7 +122,7 @@ public boolean supports(EntityType entityType) {
     public Optional<M> from(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -115,7 +147,7 @@ public Optional<M> from(DataHolder dataHolder) {
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -159,7 +191,7 @@ public Optional<M> fill(DataContainer container, M m) {
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -203,7 +235,7 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
     public DataTransactionResult remove(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -228,7 +260,7 @@ public DataTransactionResult remove(DataHolder dataHolder) {
     public Optional<M> createFrom(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -39,6 +39,10 @@
  * This is really just a lazy class to handle processing on multiple
  * {@link ValueProcessor} registrations.
  *
+ * <p>The processors that may apply to a container class are resolved once
+ * per class, so that a lookup only asks the processors that can support the
+ * container instead of scanning every registration.</p>
+ *
  * @param <E>
  * @param <V>
  */
@@ -46,12 +50,29 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final ClassValue<ImmutableList<ValueProcessor<E, V>>> processorsByClass = new ClassValue<ImmutableList<ValueProcessor<E, V>>>() {
+
+        @Override
+        protected ImmutableList<ValueProcessor<E, V>> computeValue(Class<?> type) {
+            final ImmutableList.Builder<ValueProcessor<E, V>> builder = ImmutableList.builder();
+            for (ValueProcessor<E, V> processor : ValueProcessorDelegate.this.processors) {
+                if (processor.supportsContainerClass(type)) {
+                    builder.add(processor);
+                }
+            }
+            return builder.build();
+        }
+    };
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
         this.processors = processors;
     }
 
+    private ImmutableList<ValueProcessor<E, V>> getProcessors(ValueContainer<?> container) {
+        return this.processorsByClass.get(container.getClass());
+    }
+
     @Override
     public Key<? extends BaseValue<E>> getKey() {
         return this.key;
@@ -64,7 +85,7 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -77,7 +98,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -88,9 +109,14 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
         return Optional.empty();
     }
 
+    @Override
+    public boolean supportsContainerClass(Class<?> containerClass) {
+        return !this.processorsByClass.get(containerClass).isEmpty();
+    }
+
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -101,7 +127,8 @@ public boolean supports(ValueContainer<?> container) {
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        final ImmutableList<ValueProcessor<E, V>> processors = getProcessors(container);
+        for (ValueProcessor<E, V> processor : processors) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -109,7 +136,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : processors) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -124,7 +151,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -0,0 +1,291 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.item.EntityItemFrame;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTrackerEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules the updates of the entries of an entity tracker.
+ *
+ * <p>Vanilla calls {@link EntityTrackerEntry#updatePlayerList} on every entry
+ * every tick, although most entries only send anything on ticks matching
+ * their update frequency. Here entries sit on a timing wheel and are only
+ * visited when due, when marked dirty (metadata, velocity, passengers or
+ * position changed off schedule), or every tick for players. Before a visit
+ * the entry's update counter is set to what it would be had it been updated
+ * every tick, so the entry itself behaves exactly as in vanilla.</p>
+ *
+ * <p>When a player moved far enough for vanilla to recheck every entry
+ * against them, only entries indexed in chunks within tracking range of the
+ * player's new and previous positions are checked.</p>
+ */
+public final class EntityTrackerSchedule {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // Item frames send map data every 10 ticks regardless of their frequency
+    private static final int ITEM_FRAME_PERIOD = 10;
+
+    public static final class Node {
+
+        final EntityTrackerEntry entry;
+        final boolean player;
+        final int startTick;
+        final int period;
+        int dueTick;
+        int visitedTick = -1;
+        int candidateStamp;
+        boolean dirty;
+        boolean removed;
+        long chunkKey;
+        // Where a player last had every entry checked against them
+        double visibilityX;
+        double visibilityZ;
+
+        Node(EntityTrackerEntry entry, int startTick) {
+            final Entity entity = entry.getTrackedEntity();
+            final int frequency = Math.max(1, ((IMixinEntityTrackerEntry) entry).getUpdateFrequency());
+            this.entry = entry;
+            this.player = entity instanceof EntityPlayerMP;
+            this.startTick = startTick;
+            this.period = entity instanceof EntityItemFrame ? Math.min(frequency, ITEM_FRAME_PERIOD) : frequency;
+            this.dueTick = startTick;
+            this.visibilityX = entity.posX;
+            this.visibilityZ = entity.posZ;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final List<Node>[] wheel = new List[WHEEL_SIZE];
+    private List<Node> wheelSwap = new ArrayList<>();
+    private final List<Node> players = new ArrayList<>();
+    private List<Node> dirty = new ArrayList<>();
+    private List<Node> dirtySwap = new ArrayList<>();
+    private final List<EntityPlayerMP> movedPlayers = new ArrayList<>();
+    private final List<Node> movedPlayerNodes = new ArrayList<>();
+    private final Long2ObjectOpenHashMap<List<Node>> chunks = new Long2ObjectOpenHashMap<>();
+    private int tick;
+    private int candidateStamp;
+
+    public EntityTrackerSchedule() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ArrayList<>();
+        }
+    }
+
+    public void add(EntityTrackerEntry entry) {
+        final IMixinEntityTrackerEntry mixinEntry = (IMixinEntityTrackerEntry) entry;
+        if (mixinEntry.getScheduleNode() != null) {
+            return;
+        }
+        // The entry is first updated on the next tracker tick, with a counter of 0
+        final Node node = new Node(entry, this.tick + 1);
+        mixinEntry.setScheduleNode(node);
+        if (node.player) {
+            this.players.add(node);
+        } else {
+            this.wheel[node.dueTick & WHEEL_MASK].add(node);
+        }
+        node.chunkKey = chunkKey(mixinEntry);
+        this.chunks.computeIfAbsent(node.chunkKey, key -> new ArrayList<>()).add(node);
+    }
+
+    public void remove(EntityTrackerEntry entry) {
+        final IMixinEntityTrackerEntry mixinEntry = (IMixinEntityTrackerEntry) entry;
+        final Node node = mixinEntry.getScheduleNode();
+        if (node == null) {
+            return;
+        }
+        mixinEntry.setScheduleNode(null);
+        // Dropped from the wheel and dirty list lazily
+        node.removed = true;
+        if (node.player) {
+            this.players.remove(node);
+        }
+        removeFromChunk(node);
+    }
+
+    public void markDirty(EntityTrackerEntry entry) {
+        final Node node = ((IMixinEntityTrackerEntry) entry).getScheduleNode();
+        if (node != null && !node.dirty && !node.player) {
+            node.dirty = true;
+            this.dirty.add(node);
+        }
+    }
+
+    /**
+     * Marks the entry dirty if vanilla would do anything with it on the next
+     * tick besides its scheduled update.
+     *
+     * @param entry The entry of an entity that just ticked
+     */
+    public void checkAfterTick(EntityTrackerEntry entry) {
+        final Entity entity = entry.getTrackedEntity();
+        if (entity.isAirBorne || entity.velocityChanged || entity.getDataManager().isDirty()
+                || ((IMixinEntityTrackerEntry) entry).needsVisibilityUpdate()) {
+            markDirty(entry);
+        }
+    }
+
+    /**
+     * Runs one tick of the tracker, in place of
+     * {@link net.minecraft.entity.EntityTracker#updateTrackedEntities}.
+     *
+     * @param worldPlayers The players of the world
+     * @param maxRange The maximum tracking range of the world
+     */
+    public void tick(List<EntityPlayer> worldPlayers, int maxRange) {
+        final int tick = ++this.tick;
+
+        for (int i = 0; i < this.players.size(); i++) {
+            visit(this.players.get(i), worldPlayers);
+        }
+
+        // Entries marked while processing go to the next tick
+        final List<Node> dirty = this.dirty;
+        this.dirty = this.dirtySwap;
+        for (int i = 0; i < dirty.size(); i++) {
+            visit(dirty.get(i), worldPlayers);
+        }
+        dirty.clear();
+        this.dirtySwap = dirty;
+
+        final List<Node> slot = this.wheel[tick & WHEEL_MASK];
+        final List<Node> pending = this.wheelSwap;
+        this.wheelSwap = slot;
+        this.wheel[tick & WHEEL_MASK] = pending;
+        for (int i = 0; i < slot.size(); i++) {
+            final Node node = slot.get(i);
+            if (node.removed) {
+                continue;
+            }
+            if (node.dueTick != tick) {
+                // Due in a later turn of the wheel
+                pending.add(node);
+                continue;
+            }
+            visit(node, worldPlayers);
+            if (node.removed) {
+                continue;
+            }
+            // Vanilla only acts on a frequency this long on the first update
+            if ((long) node.dueTick + node.period <= Integer.MAX_VALUE) {
+                node.dueTick += node.period;
+                this.wheel[node.dueTick & WHEEL_MASK].add(node);
+            }
+        }
+        slot.clear();
+
+        for (int i = 0; i < this.movedPlayers.size(); i++) {
+            updateVisibility(this.movedPlayers.get(i), this.movedPlayerNodes.get(i), maxRange);
+        }
+        this.movedPlayers.clear();
+        this.movedPlayerNodes.clear();
+    }
+
+    private void visit(Node node, List<EntityPlayer> worldPlayers) {
+        if (node.removed || node.visitedTick == this.tick) {
+            return;
+        }
+        node.visitedTick = this.tick;
+        node.dirty = false;
+        final EntityTrackerEntry entry = node.entry;
+        entry.updateCounter = this.tick - node.startTick;
+        entry.updatePlayerList(worldPlayers);
+        if (node.player && entry.playerEntitiesUpdated) {
+            this.movedPlayers.add((EntityPlayerMP) entry.getTrackedEntity());
+            this.movedPlayerNodes.add(node);
+        }
+        if (!node.removed) {
+            final long chunkKey = chunkKey((IMixinEntityTrackerEntry) entry);
+            if (chunkKey != node.chunkKey) {
+                removeFromChunk(node);
+                node.chunkKey = chunkKey;
+                this.chunks.computeIfAbsent(chunkKey, key -> new ArrayList<>()).add(node);
+            }
+        }
+    }
+
+    private void updateVisibility(EntityPlayerMP player, Node playerNode, int maxRange) {
+        final int stamp = ++this.candidateStamp;
+        // Entries can only become visible within range of where the player is
+        // now, and can only be tracking the player within range of where every
+        // entry was last checked against the player, plus the distance either
+        // may have moved since without a recheck.
+        checkCandidates(player, stamp, player.posX, player.posZ, (maxRange >> 4) + 1);
+        checkCandidates(player, stamp, playerNode.visibilityX, playerNode.visibilityZ, ((maxRange + 16) >> 4) + 1);
+        playerNode.visibilityX = player.posX;
+        playerNode.visibilityZ = player.posZ;
+    }
+
+    private void checkCandidates(EntityPlayerMP player, int stamp, double x, double z, int radius) {
+        final int chunkX = (int) Math.floor(x) >> 4;
+        final int chunkZ = (int) Math.floor(z) >> 4;
+        for (int cx = chunkX - radius; cx <= chunkX + radius; cx++) {
+            for (int cz = chunkZ - radius; cz <= chunkZ + radius; cz++) {
+                final List<Node> nodes = this.chunks.get(ChunkPos.chunkXZ2Int(cx, cz));
+                if (nodes == null) {
+                    continue;
+                }
+                for (int i = 0; i < nodes.size(); i++) {
+                    final Node node = nodes.get(i);
+                    if (node.candidateStamp == stamp) {
+                        continue;
+                    }
+                    node.candidateStamp = stamp;
+                    if (node.entry.getTrackedEntity() != player) {
+                        node.entry.updatePlayerEntity(player);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeFromChunk(Node node) {
+        final List<Node> nodes = this.chunks.get(node.chunkKey);
+        if (nodes != null) {
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                this.chunks.remove(node.chunkKey);
+            }
+        }
+    }
+
+    private static long chunkKey(IMixinEntityTrackerEntry entry) {
+        // Encoded positions are in 1/4096ths of a block
+        return ChunkPos.chunkXZ2Int((int) (entry.getEncodedPosX() >> 16), (int) (entry.getEncodedPosZ() >> 16));
+    }
+
+}
@@ -46,6 +46,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.metrics.SpongeMetrics;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -296,6 +297,7 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
 
     @SuppressWarnings("unchecked")
     protected static boolean post(Event event, List<RegisteredListener<?>> handlers) {
+        SpongeMetrics.onEventPost(event);
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
         for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
             try {
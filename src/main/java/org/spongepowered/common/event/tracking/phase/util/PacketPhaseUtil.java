@@ -118,6 +118,8 @@ public static void handlePlayerSlotRestore(EntityPlayerMP player, ItemStack item
             final Slot slot = player.openContainer.getSlotFromInventory(player.inventory, player.inventory.currentItem);
             slotId = slot.slotNumber;
         }
+        // Written directly into the arrays, so the change has to be signaled
+        player.inventory.markDirty();
 
         player.openContainer.detectAndSendChanges();
         player.isChangingQuantityOnly = false;
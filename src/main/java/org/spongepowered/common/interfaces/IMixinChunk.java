@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
@@ -78,6 +79,14 @@ public interface IMixinChunk {
 
     void setScheduledForUnload(Long scheduled);
 
+    /**
+     * Sets the portals read along with this chunk, which are handed to the
+     * portal index of the world once this chunk is loaded.
+     *
+     * @param portals The portals
+     */
+    void setPendingPortals(@Nullable ShortSet portals);
+
     void getIntersectingEntities(Vector3d start, Vector3d direction, double distance, Predicate<EntityUniverse.EntityHit> filter,
             double entryY, double exitY, Set<EntityUniverse.EntityHit> intersections);
 
@@ -27,10 +27,13 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 
@@ -59,6 +62,27 @@ default DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator) {
 
     List<DataManipulator<?, ?>> getCustomManipulators();
 
+    /**
+     * Gets the custom manipulators serialized to NBT.
+     *
+     * <p>Entities and tile entities keep the serialized form of each
+     * manipulator until it is marked dirty, so saving a holder whose custom
+     * data did not change only copies the cached tags. A manipulator is
+     * marked dirty when it is offered, changed through
+     * {@link #offerCustom(Key, Object)}, or when one of its elements or
+     * values is handed out by {@link #getCustom(Key)} or
+     * {@link #getCustomValue(Key)}, since the caller may mutate those.</p>
+     *
+     * @return A new list of the serialized custom manipulators
+     */
+    default NBTTagList getSerializedCustomManipulators() {
+        final NBTTagList manipulatorTagList = new NBTTagList();
+        for (DataView dataView : DataUtil.getSerializedManipulatorList(getCustomManipulators())) {
+            manipulatorTagList.appendTag(NbtTranslator.getInstance().translateData(dataView));
+        }
+        return manipulatorTagList;
+    }
+
     <E> DataTransactionResult offerCustom(Key<? extends BaseValue<E>> key, E value);
 
     DataTransactionResult removeCustom(Key<?> key);
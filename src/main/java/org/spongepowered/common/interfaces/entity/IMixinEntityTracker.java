@@ -0,0 +1,51 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.entity;
+
+import net.minecraft.entity.Entity;
+
+/**
+ * Implemented by the entity tracker when the bucketed entity tracker
+ * optimization is enabled.
+ */
+public interface IMixinEntityTracker {
+
+    /**
+     * Makes the tracker entry of the entity, if any, visit on the next tracker
+     * tick instead of waiting for its update frequency.
+     *
+     * @param entity The entity that changed
+     */
+    void markTrackerEntryDirty(Entity entity);
+
+    /**
+     * Checks an entity after it ticked for anything the tracker would send
+     * before its next scheduled update.
+     *
+     * @param entity The entity that ticked
+     */
+    void checkTrackerEntryAfterTick(Entity entity);
+
+}
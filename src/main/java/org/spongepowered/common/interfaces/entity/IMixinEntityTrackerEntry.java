@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.entity;
+
+import org.spongepowered.common.entity.EntityTrackerSchedule;
+
+import javax.annotation.Nullable;
+
+public interface IMixinEntityTrackerEntry {
+
+    @Nullable
+    EntityTrackerSchedule.Node getScheduleNode();
+
+    void setScheduleNode(@Nullable EntityTrackerSchedule.Node node);
+
+    int getUpdateFrequency();
+
+    /**
+     * Gets the last position sent to clients along the x axis, in 1/4096ths
+     * of a block.
+     *
+     * @return The encoded x position
+     */
+    long getEncodedPosX();
+
+    /**
+     * Gets the last position sent to clients along the z axis, in 1/4096ths
+     * of a block.
+     *
+     * @return The encoded z position
+     */
+    long getEncodedPosZ();
+
+    /**
+     * Gets whether the next update would recompute which players can see the
+     * entity, which happens once it moved four blocks away from where it was
+     * last checked.
+     *
+     * @return Whether visibility needs updating
+     */
+    boolean needsVisibilityUpdate();
+
+}
@@ -46,4 +46,14 @@ public interface IMixinInventoryPlayer extends MinecraftInventoryAdapter {
      */
     int getFirstAvailableSlot(ItemStack itemstack);
 
+    /**
+     * Gets a counter which changes whenever the contents of this inventory
+     * may have changed. Code writing directly into the inventory arrays
+     * must call {@link net.minecraft.inventory.IInventory#markDirty} for the
+     * change to be seen.
+     *
+     * @return The revision of the contents
+     */
+    int getContentsRevision();
+
 }
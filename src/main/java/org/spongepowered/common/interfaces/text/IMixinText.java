@@ -24,7 +24,9 @@
  */
 package org.spongepowered.common.interfaces.text;
 
+import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.api.text.chat.ChatType;
 
 import java.util.Locale;
 
@@ -32,6 +34,18 @@ public interface IMixinText {
 
     ITextComponent toComponent();
 
+    /**
+     * Creates a packet sending this text as the given chat type. Each call
+     * creates a new packet, but the chat component and serialized JSON of
+     * the text are cached and written by every packet instead of converting
+     * and serializing the text again. On a dedicated server the packets
+     * share the cached component, so it must not be modified.
+     *
+     * @param type The chat type
+     * @return The chat packet
+     */
+    SPacketChat toPacket(ChatType type);
+
     String toPlain();
 
     String toJson();
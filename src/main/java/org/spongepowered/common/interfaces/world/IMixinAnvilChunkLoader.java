@@ -24,10 +24,14 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
+import javax.annotation.Nullable;
+
 public interface IMixinAnvilChunkLoader {
 
     // Forge method
@@ -35,4 +39,16 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Reads the level compound of a chunk as saved, or about to be saved, to
+     * disk, without loading the chunk.
+     *
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return The level compound, or null if the chunk was never saved
+     * @throws IOException If the region file couldn't be read
+     */
+    @Nullable
+    NBTTagCompound readChunkLevelCompound(int x, int z) throws IOException;
+
 }
@@ -33,11 +33,16 @@
 import org.spongepowered.api.world.BlockChangeFlag;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.WorldConfigSnapshot;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.tracking.CauseTracker;
+import org.spongepowered.common.world.explosion.ExplosionCache;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
+import org.spongepowered.common.world.portal.PortalIndex;
+
+import javax.annotation.Nullable;
 
 public interface IMixinWorldServer extends IMixinWorld {
 
@@ -47,6 +52,8 @@ public interface IMixinWorldServer extends IMixinWorld {
 
     void setActiveConfig(SpongeConfig<?> config);
 
+    WorldConfigSnapshot getConfigSnapshot();
+
     Integer getDimensionId();
 
     void updateWorldGenerator();
@@ -81,6 +88,17 @@ default boolean forceSpawnEntity(Entity entity) {
 
     boolean isProcessingExplosion();
 
+    /**
+     * Gets the explosion cache of this world, only present if the
+     * cached explosion exposure optimization is enabled.
+     *
+     * @return The explosion cache, or null if disabled
+     */
+    @Nullable
+    ExplosionCache getExplosionCache();
+
+    PortalIndex getPortalIndex();
+
     boolean isMinecraftChunkLoaded(int x, int z, boolean allowEmpty);
 
     WorldTimingsHandler getTimingsHandler();
@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces.world.gen;
 
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 
 import javax.annotation.Nullable;
 
@@ -42,4 +43,6 @@ public interface IMixinChunkProviderServer {
     Chunk getChunkIfLoaded(int x, int z);
 
     void setMaxChunkUnloads(int maxUnloads);
+
+    IChunkLoader getChunkLoader();
 }
@@ -26,7 +26,12 @@
 
 import static com.google.common.base.Preconditions.*;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import org.spongepowered.api.item.ItemType;
@@ -52,8 +57,11 @@
 
 import java.lang.reflect.Constructor;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 public class Query<TInventory, TStack> {
     
     public static enum Type {
@@ -96,6 +104,16 @@ public String getKey() {
             = Maps.<String, Class<? extends QueryStrategy<?, ?, ?>>>newHashMap();
     
     private static ResultAdapterProvider<?, ?> defaultResultProvider;
+
+    private static final int MAX_PLANS_PER_LENS = 64;
+
+    /**
+     * Compiled plans of structural queries, by root lens and strategy. Only
+     * the most recently used plans of each lens are kept.
+     */
+    private static final Map<Lens<?, ?>, Cache<QueryStrategy<?, ?, ?>, int[][]>> plans = new MapMaker().weakKeys().makeMap();
+
+    private static final int[][] ROOT_PLAN = new int[0][];
     
     static {
         Query.registerDefaultStrategies();
@@ -123,16 +141,95 @@ public Inventory execute() {
     }
     
     public Inventory execute(ResultAdapterProvider<TInventory, TStack> resultProvider) {
-        if (this.strategy.matches(this.lens, null, this.inventory)) {
+        if (this.strategy.isStructural()) {
+            return this.execute(resultProvider, this.getPlan());
+        }
+
+        IntSet candidates = this.strategy.getCandidateSlots(this.inventory);
+        if (candidates != null && candidates.isEmpty()) {
+            return new EmptyInventoryImpl(this.adapter);
+        }
+
+        if (this.covers(this.lens, candidates) && this.strategy.matches(this.lens, null, this.inventory)) {
             return this.adapter;
         }
         
-        return this.toResult(resultProvider, this.depthFirstSearch(this.lens));
+        return this.toResult(resultProvider, this.depthFirstSearch(this.lens, candidates));
+    }
+
+    private Inventory execute(ResultAdapterProvider<TInventory, TStack> resultProvider, int[][] plan) {
+        if (plan == Query.ROOT_PLAN) {
+            return this.adapter;
+        }
+        MutableLensSet<TInventory, TStack> matches = new MutableLensSetImpl<TInventory, TStack>(true);
+        for (int[] path : plan) {
+            Lens<TInventory, TStack> match = this.lens;
+            for (int child : path) {
+                match = match.getChildren().get(child);
+            }
+            matches.add(match);
+        }
+        return this.toResult(resultProvider, matches);
+    }
+
+    /**
+     * Gets the compiled plan of this query for its root lens, compiling it
+     * if this is the first execution of the strategy against the lens tree.
+     * Plans hold the child index paths of the matching lenses rather than
+     * the lenses themselves, so that they do not keep their tree alive.
+     */
+    private int[][] getPlan() {
+        Cache<QueryStrategy<?, ?, ?>, int[][]> lensPlans = Query.plans.computeIfAbsent(this.lens,
+                key -> CacheBuilder.newBuilder().maximumSize(Query.MAX_PLANS_PER_LENS).build());
+        int[][] plan = lensPlans.getIfPresent(this.strategy);
+        if (plan == null) {
+            plan = this.compilePlan();
+            lensPlans.put(this.strategy, plan);
+        }
+        return plan;
+    }
+
+    private int[][] compilePlan() {
+        if (this.strategy.matches(this.lens, null, this.inventory)) {
+            return Query.ROOT_PLAN;
+        }
+        MutableLensSet<TInventory, TStack> matches = this.depthFirstSearch(this.lens, null);
+        if (matches == null) {
+            return new int[0][];
+        }
+        int[][] plan = new int[matches.size()][];
+        int index = 0;
+        IntArrayList path = new IntArrayList();
+        for (Lens<TInventory, TStack> match : matches) {
+            path.clear();
+            this.findPath(this.lens, match, path);
+            plan[index++] = path.toIntArray();
+        }
+        return plan;
+    }
+
+    private boolean findPath(Lens<TInventory, TStack> lens, Lens<TInventory, TStack> target, IntArrayList path) {
+        if (lens == target) {
+            return true;
+        }
+        List<Lens<TInventory, TStack>> children = lens.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            Lens<TInventory, TStack> child = children.get(i);
+            if (child == null) {
+                continue;
+            }
+            path.add(i);
+            if (this.findPath(child, target, path)) {
+                return true;
+            }
+            path.removeInt(path.size() - 1);
+        }
+        return false;
     }
 
     @SuppressWarnings("unchecked")
-    private Inventory toResult(ResultAdapterProvider<TInventory, TStack> resultProvider, MutableLensSet<TInventory, TStack> matches) {
-        if (matches.size() == 0) {
+    private Inventory toResult(ResultAdapterProvider<TInventory, TStack> resultProvider, @Nullable MutableLensSet<TInventory, TStack> matches) {
+        if (matches == null || matches.size() == 0) {
             return new EmptyInventoryImpl(this.adapter);
         }
         if (matches.size() == 1) {
@@ -147,23 +244,51 @@ private Inventory toResult(ResultAdapterProvider<TInventory, TStack> resultProvi
         return ((ResultAdapterProvider<TInventory, TStack>)Query.defaultResultProvider).getResultAdapter(this.inventory, matches);
     }
 
-    private MutableLensSet<TInventory, TStack> depthFirstSearch(Lens<TInventory, TStack> lens) {
-        MutableLensSet<TInventory, TStack> matches = new MutableLensSetImpl<TInventory, TStack>(true);
+    /**
+     * Gets whether the lens covers one of the candidate slots, or true if
+     * there are no candidate slots.
+     */
+    private boolean covers(Lens<TInventory, TStack> lens, @Nullable IntSet candidates) {
+        if (candidates == null) {
+            return true;
+        }
+        for (IntIterator iter = candidates.iterator(); iter.hasNext();) {
+            if (lens.hasSlot(iter.nextInt())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private MutableLensSet<TInventory, TStack> depthFirstSearch(Lens<TInventory, TStack> lens, @Nullable IntSet candidates) {
+        // Only allocated once something matched, most lenses in a tree have no match
+        MutableLensSet<TInventory, TStack> matches = null;
         
         for (Lens<TInventory, TStack> child : lens.getChildren()) {
-            if (child == null) {
+            if (child == null || !this.covers(child, candidates)) {
                 continue;
             }
             if (child.getChildren().size() > 0) {
-                matches.addAll(this.depthFirstSearch(child));
+                MutableLensSet<TInventory, TStack> childMatches = this.depthFirstSearch(child, candidates);
+                if (childMatches != null) {
+                    if (matches == null) {
+                        matches = childMatches;
+                    } else {
+                        matches.addAll(childMatches);
+                    }
+                }
             } 
             if (this.strategy.matches(child, lens, this.inventory)) {
+                if (matches == null) {
+                    matches = new MutableLensSetImpl<TInventory, TStack>(true);
+                }
                 matches.add(child);
             }
         }
         
         // Only a single match or no matches
-        if (matches.size() < 2) {
+        if (matches == null || matches.size() < 2) {
             return matches;
         }
 
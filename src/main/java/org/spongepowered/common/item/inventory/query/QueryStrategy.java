@@ -24,12 +24,40 @@
  */
 package org.spongepowered.common.item.inventory.query;
 
+import it.unimi.dsi.fastutil.ints.IntSet;
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
 
+import javax.annotation.Nullable;
+
 public abstract class QueryStrategy<TInventory, TStack, TArgs> {
 
     public abstract QueryStrategy<TInventory, TStack, TArgs> with(TArgs[] args);
 
     public abstract boolean matches(Lens<TInventory, TStack> lens, Lens<TInventory, TStack> parent, Fabric<TInventory> inventory);
+
+    /**
+     * Gets whether the lenses matched by this strategy only depend on the
+     * structure of the lens tree and never on the contents of the inventory.
+     * The results of structural strategies are compiled once per root lens
+     * and arguments, so they must implement {@link #equals} and
+     * {@link #hashCode} over their arguments.
+     *
+     * @return true if the matches only depend on the lens tree
+     */
+    public boolean isStructural() {
+        return false;
+    }
+
+    /**
+     * Gets the absolute slot indices of the inventory which may hold a match
+     * for this strategy, lenses which do not cover any of them are skipped.
+     *
+     * @param inventory The inventory being queried
+     * @return The candidate slots, or null if any lens may match
+     */
+    @Nullable
+    public IntSet getCandidateSlots(Fabric<TInventory> inventory) {
+        return null;
+    }
 }
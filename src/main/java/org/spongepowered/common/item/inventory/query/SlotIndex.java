@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.common.interfaces.entity.player.IMixinInventoryPlayer;
+import org.spongepowered.common.item.inventory.lens.Fabric;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the slots of a {@link Fabric} by the {@link Item} they hold,
+ * used by the item based query strategies to find their candidate slots
+ * without visiting the whole lens tree.
+ *
+ * <p>The index is tied to the contents revision of the inventories behind
+ * the fabric, and only re-indexes the slots whose item changed once that
+ * revision moved on. Fabrics are only indexed when all of their inventories
+ * track such a revision, other fabrics have no index and are queried by
+ * visiting their lenses.</p>
+ */
+public final class SlotIndex {
+
+    private static final Map<Fabric<?>, SlotIndex> indices = new MapMaker().weakKeys().makeMap();
+    private static final SlotIndex UNTRACKED = new SlotIndex(new IMixinInventoryPlayer[0]);
+
+    private final IMixinInventoryPlayer[] inventories;
+    private final Map<Item, IntSet> slotsByItem = new IdentityHashMap<>();
+    private Item[] items = new Item[0];
+    private long revision = -1;
+
+    private SlotIndex(IMixinInventoryPlayer[] inventories) {
+        this.inventories = inventories;
+    }
+
+    /**
+     * Gets the index of the given fabric.
+     *
+     * @param fabric The fabric
+     * @return The index, or null if the contents of the fabric are not
+     *     tracked
+     */
+    @Nullable
+    public static SlotIndex of(Fabric<?> fabric) {
+        final SlotIndex index = SlotIndex.indices.computeIfAbsent(fabric, SlotIndex::create);
+        return index == SlotIndex.UNTRACKED ? null : index;
+    }
+
+    private static SlotIndex create(Fabric<?> fabric) {
+        final IMixinInventoryPlayer[] inventories = new IMixinInventoryPlayer[fabric.allInventories().size()];
+        int index = 0;
+        for (IInventory inventory : fabric.allInventories()) {
+            if (!(inventory instanceof IMixinInventoryPlayer)) {
+                return SlotIndex.UNTRACKED;
+            }
+            inventories[index++] = (IMixinInventoryPlayer) inventory;
+        }
+        return new SlotIndex(inventories);
+    }
+
+    /**
+     * Gets the absolute indices of the slots currently holding the given
+     * item type.
+     *
+     * @param fabric The fabric this index belongs to
+     * @param item The item type
+     * @return The slots holding the item, may be empty
+     */
+    public synchronized IntSet getSlots(Fabric<?> fabric, Item item) {
+        final long revision = this.getRevision();
+        if (revision != this.revision) {
+            this.refresh(fabric);
+            this.revision = revision;
+        }
+        final IntSet slots = this.slotsByItem.get(item);
+        return slots == null ? IntSets.EMPTY_SET : IntSets.unmodifiable(slots);
+    }
+
+    private long getRevision() {
+        // Each revision only ever grows, so their sum changes with any of them
+        long revision = 0;
+        for (IMixinInventoryPlayer inventory : this.inventories) {
+            revision += inventory.getContentsRevision();
+        }
+        return revision;
+    }
+
+    private void refresh(Fabric<?> fabric) {
+        final int size = fabric.getSize();
+        if (size != this.items.length) {
+            this.slotsByItem.clear();
+            this.items = new Item[size];
+        }
+        for (int slot = 0; slot < size; slot++) {
+            final ItemStack stack = fabric.getStack(slot);
+            final Item item = stack == null ? null : stack.getItem();
+            final Item previous = this.items[slot];
+            if (item == previous) {
+                continue;
+            }
+            this.items[slot] = item;
+            if (previous != null) {
+                final IntSet slots = this.slotsByItem.get(previous);
+                if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+                    this.slotsByItem.remove(previous);
+                }
+            }
+            if (item != null) {
+                this.slotsByItem.computeIfAbsent(item, key -> new IntOpenHashSet()).add(slot);
+            }
+        }
+    }
+
+}
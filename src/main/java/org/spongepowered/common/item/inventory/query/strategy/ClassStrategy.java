@@ -55,4 +55,19 @@ public boolean matches(Lens<TInventory, TStack> lens, Lens<TInventory, TStack> p
         return false;
     }
 
+    @Override
+    public boolean isStructural() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ClassStrategy && this.classes.equals(((ClassStrategy<?, ?>) obj).classes);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.classes.hashCode();
+    }
+
 }
@@ -25,15 +25,21 @@
 package org.spongepowered.common.item.inventory.query.strategy;
 
 import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.item.Item;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
 import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
 import org.spongepowered.common.item.inventory.query.QueryStrategy;
+import org.spongepowered.common.item.inventory.query.SlotIndex;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 public class ItemStackStrategy<TInventory> extends QueryStrategy<TInventory, ItemStack, ItemStack> {
     
     private Set<ItemStack> stacks;
@@ -65,4 +71,21 @@ public boolean matches(Lens<TInventory, ItemStack> lens, Lens<TInventory, ItemSt
         return false;
     }
 
+    @Nullable
+    @Override
+    public IntSet getCandidateSlots(Fabric<TInventory> inventory) {
+        if (this.stacks.isEmpty()) {
+            return null;
+        }
+        final SlotIndex index = SlotIndex.of(inventory);
+        if (index == null) {
+            return null;
+        }
+        final IntSet slots = new IntOpenHashSet();
+        for (ItemStack candidate : this.stacks) {
+            slots.addAll(index.getSlots(inventory, (Item) candidate.getItem()));
+        }
+        return slots;
+    }
+
 }
@@ -71,4 +71,19 @@ public boolean matches(Lens<TInventory, TStack> lens, Lens<TInventory, TStack> p
         return false;
     }
 
+    @Override
+    public boolean isStructural() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PropertyStrategy && this.properties.equals(((PropertyStrategy<?, ?>) obj).properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.properties.hashCode();
+    }
+
 }
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count. Safe to increment from any thread.
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+    private final ConcurrentMap<List<String>, LongAdder> children = new ConcurrentHashMap<>();
+
+    public Counter(String name, String help, String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    public void inc() {
+        this.value.increment();
+    }
+
+    public void add(long amount) {
+        this.value.add(amount);
+    }
+
+    /**
+     * Gets the counter for the given label values. Callers on hot paths
+     * should keep the returned adder rather than looking it up each time.
+     *
+     * @param labelValues The label values
+     * @return The counter for the labels
+     */
+    public LongAdder labels(String... labelValues) {
+        final List<String> key = ImmutableList.copyOf(labelValues);
+        LongAdder child = this.children.get(key);
+        if (child == null) {
+            checkLabels(key);
+            child = new LongAdder();
+            final LongAdder existing = this.children.putIfAbsent(key, child);
+            if (existing != null) {
+                child = existing;
+            }
+        }
+        return child;
+    }
+
+    public long get() {
+        return this.value.sum();
+    }
+
+    @Override
+    String getType() {
+        return "counter";
+    }
+
+    @Override
+    void writeSamples(StringBuilder out) {
+        if (this.labelNames.length == 0) {
+            writeSample(out, "", ImmutableList.of(), null, null, this.value.sum());
+            return;
+        }
+        for (Map.Entry<List<String>, LongAdder> entry : this.children.entrySet()) {
+            writeSample(out, "", entry.getKey(), null, null, entry.getValue().sum());
+        }
+    }
+
+    @Override
+    JsonElement toJson() {
+        if (this.labelNames.length == 0) {
+            return new JsonPrimitive(this.value.sum());
+        }
+        final JsonArray array = new JsonArray();
+        for (Map.Entry<List<String>, LongAdder> entry : this.children.entrySet()) {
+            final JsonObject sample = labelsToJson(this.labelNames, entry.getKey());
+            sample.addProperty("value", entry.getValue().sum());
+            array.add(sample);
+        }
+        return array;
+    }
+
+    static JsonObject labelsToJson(String[] labelNames, List<String> labelValues) {
+        final JsonObject object = new JsonObject();
+        for (int i = 0; i < labelNames.length; i++) {
+            object.addProperty(labelNames[i], labelValues.get(i));
+        }
+        return object;
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A value that can go up and down. Gauges are published as a whole, usually
+ * from the main thread, and replaced atomically so readers on other threads
+ * always see a consistent set of values.
+ */
+public final class Gauge extends Metric {
+
+    private volatile Map<List<String>, Double> values = ImmutableMap.of();
+
+    public Gauge(String name, String help, String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    public void set(double value) {
+        this.values = ImmutableMap.of(ImmutableList.of(), value);
+    }
+
+    /**
+     * Replaces all values of this gauge.
+     *
+     * @param values The values, keyed by label values
+     */
+    public void setAll(Map<List<String>, Double> values) {
+        for (List<String> key : values.keySet()) {
+            checkLabels(key);
+        }
+        this.values = ImmutableMap.copyOf(values);
+    }
+
+    @Override
+    String getType() {
+        return "gauge";
+    }
+
+    @Override
+    void writeSamples(StringBuilder out) {
+        for (Map.Entry<List<String>, Double> entry : this.values.entrySet()) {
+            writeSample(out, "", entry.getKey(), null, null, entry.getValue());
+        }
+    }
+
+    @Override
+    JsonElement toJson() {
+        final Map<List<String>, Double> values = this.values;
+        if (this.labelNames.length == 0) {
+            final Double value = values.get(ImmutableList.<String>of());
+            return new JsonPrimitive(value == null ? 0 : value);
+        }
+        final JsonArray array = new JsonArray();
+        for (Map.Entry<List<String>, Double> entry : values.entrySet()) {
+            final JsonObject sample = Counter.labelsToJson(this.labelNames, entry.getKey());
+            sample.addProperty("value", entry.getValue());
+            array.add(sample);
+        }
+        return array;
+    }
+
+}
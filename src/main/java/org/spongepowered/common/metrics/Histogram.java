@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts observations into fixed buckets. Buckets are stored individually
+ * and only made cumulative when written, so an observation touches a single
+ * bucket.
+ */
+public final class Histogram extends Metric {
+
+    private final double[] bounds;
+    private final LongAdder[] buckets;
+    private final DoubleAdder sum = new DoubleAdder();
+
+    public Histogram(String name, String help, double... bounds) {
+        super(name, help);
+        this.bounds = bounds.clone();
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    public void observe(double value) {
+        int bucket = 0;
+        while (bucket < this.bounds.length && value > this.bounds[bucket]) {
+            bucket++;
+        }
+        this.buckets[bucket].increment();
+        this.sum.add(value);
+    }
+
+    @Override
+    String getType() {
+        return "histogram";
+    }
+
+    @Override
+    void writeSamples(StringBuilder out) {
+        long cumulative = 0;
+        for (int i = 0; i < this.buckets.length; i++) {
+            cumulative += this.buckets[i].sum();
+            final double bound = i < this.bounds.length ? this.bounds[i] : Double.POSITIVE_INFINITY;
+            writeSample(out, "_bucket", ImmutableList.of(), "le", formatValue(bound), cumulative);
+        }
+        writeSample(out, "_sum", ImmutableList.of(), null, null, this.sum.sum());
+        writeSample(out, "_count", ImmutableList.of(), null, null, cumulative);
+    }
+
+    @Override
+    JsonElement toJson() {
+        final JsonObject object = new JsonObject();
+        final JsonArray buckets = new JsonArray();
+        long cumulative = 0;
+        for (int i = 0; i < this.buckets.length; i++) {
+            cumulative += this.buckets[i].sum();
+            final JsonObject bucket = new JsonObject();
+            bucket.addProperty("le", i < this.bounds.length ? formatValue(this.bounds[i]) : "+Inf");
+            bucket.addProperty("count", cumulative);
+            buckets.add(bucket);
+        }
+        object.add("buckets", buckets);
+        object.addProperty("sum", this.sum.sum());
+        object.addProperty("count", cumulative);
+        return object;
+    }
+
+}
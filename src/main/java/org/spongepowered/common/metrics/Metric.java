@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.gson.JsonElement;
+
+import java.util.List;
+
+/**
+ * A named metric that can be written in the Prometheus text format and as
+ * JSON. Labelled metrics key their values by the list of label values, in
+ * the order of the label names.
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+    final String[] labelNames;
+
+    Metric(String name, String help, String... labelNames) {
+        checkArgument(name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*"), "Invalid metric name: %s", name);
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getHelp() {
+        return this.help;
+    }
+
+    abstract String getType();
+
+    abstract void writeSamples(StringBuilder out);
+
+    abstract JsonElement toJson();
+
+    void checkLabels(List<String> labelValues) {
+        checkArgument(labelValues.size() == this.labelNames.length, "Expected %s label values for %s", this.labelNames.length, this.name);
+    }
+
+    void writeSample(StringBuilder out, String suffix, List<String> labelValues, String extraLabel, String extraValue, double value) {
+        out.append(this.name).append(suffix);
+        if (!labelValues.isEmpty() || extraLabel != null) {
+            out.append('{');
+            boolean first = true;
+            for (int i = 0; i < labelValues.size(); i++) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendLabel(out, this.labelNames[i], labelValues.get(i));
+            }
+            if (extraLabel != null) {
+                if (!first) {
+                    out.append(',');
+                }
+                appendLabel(out, extraLabel, extraValue);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static void appendLabel(StringBuilder out, String name, String value) {
+        out.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    static String formatValue(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        }
+        if (value == (long) value) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+}
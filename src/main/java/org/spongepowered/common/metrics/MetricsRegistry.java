@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Holds metrics by name and writes them out together.
+ */
+public final class MetricsRegistry {
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    public <T extends Metric> T register(T metric) {
+        final Metric previous = this.metrics.putIfAbsent(metric.getName(), metric);
+        checkArgument(previous == null, "A metric named %s is already registered", metric.getName());
+        return metric;
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format.
+     *
+     * @return The metrics
+     */
+    public String toPrometheus() {
+        final StringBuilder out = new StringBuilder(4096);
+        for (Metric metric : this.metrics.values()) {
+            out.append("# HELP ").append(metric.getName()).append(' ').append(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n"))
+                    .append('\n');
+            out.append("# TYPE ").append(metric.getName()).append(' ').append(metric.getType()).append('\n');
+            metric.writeSamples(out);
+        }
+        return out.toString();
+    }
+
+    public JsonObject toJson() {
+        final JsonObject object = new JsonObject();
+        for (Metric metric : this.metrics.values()) {
+            object.add(metric.getName(), metric.toJson());
+        }
+        return object;
+    }
+
+}
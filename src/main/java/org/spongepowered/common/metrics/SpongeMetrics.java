@@ -0,0 +1,300 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.block.tileentity.TileEntityType;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.service.sql.SqlService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.MetricsCategory;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.service.sql.PooledDataSource;
+import org.spongepowered.common.service.sql.SqlServiceImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Continuously collected server statistics.
+ *
+ * <p>Counters are fed from the same hooks timings uses and are cheap enough
+ * to update on every call. Anything that has to walk world state is sampled
+ * on the main thread every {@link MetricsCategory#getSnapshotInterval()}
+ * ticks and published to gauges, so the exporter never touches world state
+ * from its own thread.</p>
+ */
+public final class SpongeMetrics {
+
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    private static final double[] TICK_BUCKETS_MS = {5, 10, 25, 50, 75, 100, 150, 250, 500, 1000};
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final Histogram TICK_DURATION = REGISTRY.register(new Histogram("sponge_tick_duration_milliseconds",
+            "Time taken by each server tick", TICK_BUCKETS_MS));
+    private static final Counter TICKS = REGISTRY.register(new Counter("sponge_ticks_total", "Server ticks"));
+    private static final Gauge TPS = REGISTRY.register(new Gauge("sponge_tps", "Ticks per second over the last snapshot interval"));
+    private static final Gauge MSPT = REGISTRY.register(new Gauge("sponge_mspt", "Average milliseconds per tick over the last snapshot interval"));
+
+    private static final Gauge LOADED_CHUNKS = REGISTRY.register(new Gauge("sponge_world_loaded_chunks", "Loaded chunks", "world"));
+    private static final Gauge PLAYERS = REGISTRY.register(new Gauge("sponge_world_players", "Players", "world"));
+    private static final Gauge ENTITIES = REGISTRY.register(new Gauge("sponge_world_entities", "Loaded entities", "world", "type"));
+    private static final Gauge TILE_ENTITIES = REGISTRY.register(new Gauge("sponge_world_tile_entities", "Loaded tile entities", "world", "type"));
+
+    private static final Counter ENTITY_TICKS = REGISTRY.register(new Counter("sponge_entity_ticks_total", "Entities ticked"));
+    private static final Counter TILE_ENTITY_TICKS = REGISTRY.register(new Counter("sponge_tile_entity_ticks_total", "Tile entities ticked"));
+    private static final Counter ACTIVATION_CHECKS = REGISTRY.register(new Counter("sponge_entity_activation_checks_total",
+            "Entity activation range checks by result", "result"));
+    private static final LongAdder ACTIVATION_ACTIVE = ACTIVATION_CHECKS.labels("active");
+    private static final LongAdder ACTIVATION_SKIPPED = ACTIVATION_CHECKS.labels("skipped");
+    private static final Gauge ACTIVATION_SKIP_RATIO = REGISTRY.register(new Gauge("sponge_entity_activation_skip_ratio",
+            "Share of activation checks that skipped the entity over the last snapshot interval"));
+
+    private static final Counter CHUNK_LOADS = REGISTRY.register(new Counter("sponge_chunk_loads_total", "Chunks loaded"));
+    private static final Counter CHUNK_UNLOADS = REGISTRY.register(new Counter("sponge_chunk_unloads_total", "Chunks unloaded"));
+    private static final Counter CHUNK_SAVES = REGISTRY.register(new Counter("sponge_chunk_saves_total", "Chunks saved"));
+    private static final Counter CHUNK_GENERATIONS = REGISTRY.register(new Counter("sponge_chunk_generations_total", "Chunks generated"));
+
+    private static final Counter EVENT_POSTS = REGISTRY.register(new Counter("sponge_event_posts_total", "Events posted by type", "event"));
+    private static final ClassValue<LongAdder> EVENT_POST_COUNTERS = new ClassValue<LongAdder>() {
+
+        @Override
+        protected LongAdder computeValue(Class<?> type) {
+            final String name = type.getName();
+            return EVENT_POSTS.labels(name.substring(name.lastIndexOf('.') + 1));
+        }
+    };
+
+    private static final Gauge SCHEDULER_TASKS = REGISTRY.register(new Gauge("sponge_scheduler_tasks",
+            "Pending and running scheduler tasks", "scheduler"));
+
+    private static final Gauge SQL_CONNECTIONS = REGISTRY.register(new Gauge("sponge_sql_connections",
+            "Connections of the SQL service pools by state", "pool", "state"));
+    private static final Gauge SQL_AWAITING = REGISTRY.register(new Gauge("sponge_sql_threads_awaiting_connection",
+            "Threads waiting for a connection of a SQL service pool", "pool"));
+    private static final Gauge SQL_PENDING_QUERIES = REGISTRY.register(new Gauge("sponge_sql_pending_async_queries",
+            "Queued and running queries of the SQL service async executor"));
+
+    // Set once when the server starts ticking
+    private static boolean initialized;
+    private static boolean enabled;
+    private static int snapshotInterval;
+
+    // Only touched on the main thread
+    private static long tickStart;
+    private static long ticksSinceSnapshot;
+    private static long tickTimeSinceSnapshot;
+    private static long lastSnapshot;
+    private static long lastActive;
+    private static long lastSkipped;
+
+    private SpongeMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void onTickStart() {
+        if (!initialized) {
+            initialize();
+        }
+        if (enabled) {
+            tickStart = System.nanoTime();
+        }
+    }
+
+    public static void onTickEnd(MinecraftServer server) {
+        if (!enabled) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final long duration = now - tickStart;
+        TICK_DURATION.observe(duration / 1E6);
+        TICKS.inc();
+        ticksSinceSnapshot++;
+        tickTimeSinceSnapshot += duration;
+        if (ticksSinceSnapshot >= snapshotInterval) {
+            snapshot(server, now);
+        }
+    }
+
+    public static void onEntityTicks(int count) {
+        if (enabled) {
+            ENTITY_TICKS.add(count);
+        }
+    }
+
+    public static void onTileEntityTicks(int count) {
+        if (enabled) {
+            TILE_ENTITY_TICKS.add(count);
+        }
+    }
+
+    public static void onActivationCheck(boolean active) {
+        if (enabled) {
+            (active ? ACTIVATION_ACTIVE : ACTIVATION_SKIPPED).increment();
+        }
+    }
+
+    public static void onChunkLoad() {
+        if (enabled) {
+            CHUNK_LOADS.inc();
+        }
+    }
+
+    public static void onChunkUnload() {
+        if (enabled) {
+            CHUNK_UNLOADS.inc();
+        }
+    }
+
+    public static void onChunkSave() {
+        if (enabled) {
+            CHUNK_SAVES.inc();
+        }
+    }
+
+    public static void onChunkGenerated() {
+        if (enabled) {
+            CHUNK_GENERATIONS.inc();
+        }
+    }
+
+    public static void onEventPost(Event event) {
+        if (enabled) {
+            EVENT_POST_COUNTERS.get(event.getClass()).increment();
+        }
+    }
+
+    private static void initialize() {
+        initialized = true;
+        final MetricsCategory config = SpongeImpl.getGlobalConfig().getConfig().getMetrics();
+        enabled = config.isEnabled();
+        snapshotInterval = config.getSnapshotInterval();
+        lastSnapshot = System.nanoTime();
+        if (enabled && config.getServerPort() > 0) {
+            MetricsServer.start(config.getServerPort());
+        }
+    }
+
+    public static void stop() {
+        MetricsServer.stop();
+    }
+
+    private static void snapshot(MinecraftServer server, long now) {
+        TPS.set(ticksSinceSnapshot * 1E9 / (now - lastSnapshot));
+        MSPT.set(tickTimeSinceSnapshot / 1E6 / ticksSinceSnapshot);
+        ticksSinceSnapshot = 0;
+        tickTimeSinceSnapshot = 0;
+        lastSnapshot = now;
+
+        final long active = ACTIVATION_ACTIVE.sum();
+        final long skipped = ACTIVATION_SKIPPED.sum();
+        final long checks = (active - lastActive) + (skipped - lastSkipped);
+        ACTIVATION_SKIP_RATIO.set(checks == 0 ? 0 : (double) (skipped - lastSkipped) / checks);
+        lastActive = active;
+        lastSkipped = skipped;
+
+        final Map<List<String>, Double> chunks = new HashMap<>();
+        final Map<List<String>, Double> players = new HashMap<>();
+        final Map<List<String>, Double> entities = new HashMap<>();
+        final Map<List<String>, Double> tileEntities = new HashMap<>();
+        for (WorldServer world : server.worldServers) {
+            final String worldName = ((org.spongepowered.api.world.World) world).getName();
+            chunks.put(ImmutableList.of(worldName), (double) world.getChunkProvider().getLoadedChunkCount());
+            players.put(ImmutableList.of(worldName), (double) world.playerEntities.size());
+            for (net.minecraft.entity.Entity entity : world.loadedEntityList) {
+                final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+                final String typeName = type != null ? type.getId() : entity.getClass().getName();
+                entities.merge(ImmutableList.of(worldName, typeName), 1D, Double::sum);
+            }
+            for (net.minecraft.tileentity.TileEntity tileEntity : world.loadedTileEntityList) {
+                final TileEntityType type = ((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getType();
+                final String typeName = type != null ? type.getId() : tileEntity.getClass().getName();
+                tileEntities.merge(ImmutableList.of(worldName, typeName), 1D, Double::sum);
+            }
+        }
+        LOADED_CHUNKS.setAll(chunks);
+        PLAYERS.setAll(players);
+        ENTITIES.setAll(entities);
+        TILE_ENTITIES.setAll(tileEntities);
+
+        final Map<List<String>, Double> tasks = new HashMap<>();
+        tasks.put(ImmutableList.of("sync"), (double) SpongeScheduler.getInstance().getTaskCount(false));
+        tasks.put(ImmutableList.of("async"), (double) SpongeScheduler.getInstance().getTaskCount(true));
+        SCHEDULER_TASKS.setAll(tasks);
+
+        final Optional<SqlService> sqlService = SpongeImpl.getGame().getServiceManager().provide(SqlService.class);
+        if (sqlService.isPresent() && sqlService.get() instanceof SqlServiceImpl) {
+            final SqlServiceImpl sql = (SqlServiceImpl) sqlService.get();
+            final Map<List<String>, Double> connections = new HashMap<>();
+            final Map<List<String>, Double> awaiting = new HashMap<>();
+            for (PooledDataSource dataSource : sql.getDataSources()) {
+                connections.put(ImmutableList.of(dataSource.getName(), "active"), (double) dataSource.getActiveConnections());
+                connections.put(ImmutableList.of(dataSource.getName(), "idle"), (double) dataSource.getIdleConnections());
+                awaiting.put(ImmutableList.of(dataSource.getName()), (double) dataSource.getThreadsAwaitingConnection());
+            }
+            SQL_CONNECTIONS.setAll(connections);
+            SQL_AWAITING.setAll(awaiting);
+            SQL_PENDING_QUERIES.set(sql.getPendingQueries());
+        }
+    }
+
+    /**
+     * Writes the current value of every metric as JSON to the metrics
+     * directory.
+     *
+     * @return The path written to
+     * @throws IOException If the dump could not be written
+     */
+    public static Path dump() throws IOException {
+        final JsonObject json = new JsonObject();
+        json.addProperty("time", System.currentTimeMillis());
+        json.add("metrics", REGISTRY.toJson());
+
+        final Path directory = SpongeImpl.getGameDir().resolve("metrics");
+        Files.createDirectories(directory);
+        final Path file = directory.resolve("metrics-" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".json");
+        Files.write(file, new GsonBuilder().setPrettyPrinting().create().toJson(json).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+}
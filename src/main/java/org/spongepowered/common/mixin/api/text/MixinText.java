@@ -25,22 +25,30 @@
 package org.spongepowered.common.mixin.api.text;
 
 import com.google.common.collect.ImmutableList;
+import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.Style;
 import net.minecraft.util.text.TextComponentBase;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.action.ClickAction;
 import org.spongepowered.api.text.action.HoverAction;
 import org.spongepowered.api.text.action.ShiftClickAction;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.chat.ChatTypes;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.format.TextFormat;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinText;
+import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
+import org.spongepowered.common.text.chat.SpongeChatType;
 import org.spongepowered.common.text.format.SpongeTextColor;
 
 import java.util.Optional;
@@ -56,6 +64,8 @@ public abstract class MixinText implements IMixinText {
 
     private ITextComponent component;
     private String json;
+    private ITextComponent actionBarComponent;
+    private String actionBarJson;
 
     protected TextComponentBase createComponent() {
         throw new UnsupportedOperationException();
@@ -107,6 +117,35 @@ public ITextComponent toComponent() {
         return getHandle().createCopy(); // Mutable instances are not nice :(
     }
 
+    @Override
+    public SPacketChat toPacket(ChatType type) {
+        final byte id = ((SpongeChatType) type).getByteId();
+        final SPacketChat packet;
+        if (type == ChatTypes.ACTION_BAR) {
+            if (this.actionBarComponent == null) {
+                this.actionBarComponent = SpongeTexts.fixActionBarFormatting(toComponent());
+                this.actionBarJson = ITextComponent.Serializer.componentToJson(this.actionBarComponent);
+            }
+            packet = new SPacketChat(shareOrCopy(this.actionBarComponent), id);
+            ((IMixinSPacketChat) packet).setSerializedComponent(this.actionBarJson);
+        } else {
+            packet = new SPacketChat(shareOrCopy(getHandle()), id);
+            ((IMixinSPacketChat) packet).setSerializedComponent(toJson());
+        }
+        return packet;
+    }
+
+    private static ITextComponent shareOrCopy(ITextComponent component) {
+        // On a dedicated server the component of a packet is only read to be
+        // serialized, which the cached JSON replaces, so every packet of the
+        // text shares one instance. An integrated server hands the packet to
+        // the client as is, which gets its own copy.
+        if (Sponge.isServerAvailable() && SpongeImpl.getServer().isDedicatedServer()) {
+            return component;
+        }
+        return component.createCopy();
+    }
+
     @Override
     public String toPlain() {
         return ((IMixinChatComponent) getHandle()).toPlain();
@@ -34,6 +34,11 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.ban.BanEntryMap;
+import org.spongepowered.common.service.ban.SpongeBanService;
 import org.spongepowered.common.util.NetworkUtil;
 
 import java.io.File;
@@ -42,6 +47,7 @@
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Mixin(UserListIPBans.class) // This is a bad MCP name, it's really IPBanList
@@ -51,6 +57,11 @@ public MixinIPBanList(File saveFile) {
         super(saveFile);
     }
 
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onInit(CallbackInfo ci) {
+        this.values = new BanEntryMap<>();
+    }
+
     @Override
     public boolean hasEntry(String object) {
         if (object.equals(LOCAL_ADDRESS)) { // Check for single player
@@ -93,7 +104,7 @@ public void removeEntry(String object) {
     @Override
     public String[] getKeys() {
         List<String> ips = new ArrayList<>();
-        for (Ban.Ip ban: Sponge.getServiceManager().provideUnchecked(BanService.class).getIpBans()) {
+        for (Ban.Ip ban: getIpBans()) {
             ips.add(this.addressToString(new InetSocketAddress(ban.getAddress(), 0)));
         }
         return ips.toArray(new String[ips.size()]);
@@ -106,7 +117,7 @@ public void addEntry(UserListIPBansEntry entry) {
 
     @Override
     public boolean isEmpty() {
-        return Sponge.getServiceManager().provideUnchecked(BanService.class).getIpBans().isEmpty();
+        return getIpBans().isEmpty();
     }
 
     /**
@@ -119,4 +130,9 @@ public String addressToString(SocketAddress address) {
         return NetworkUtil.getHostString(address);
     }
 
+    private static Collection<Ban.Ip> getIpBans() {
+        final BanService service = Sponge.getServiceManager().provideUnchecked(BanService.class);
+        return service instanceof SpongeBanService ? ((SpongeBanService) service).getIpBansView() : service.getIpBans();
+    }
+
 }
@@ -32,15 +32,18 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.ban.BanEntryMap;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 @Mixin(UserList.class)
 public abstract class MixinUserList {
 
     @Shadow private static Logger LOGGER;
     @Shadow public File saveFile;
+    @Shadow public Map<String, ?> values;
     @Shadow public abstract String getObjectKey(Object obj);
 
     @Redirect(method = "removeExpired", at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false))
@@ -48,6 +51,15 @@ public boolean onAdd(List<Object> list, Object object) {
         return list.add(this.getObjectKey(object)); // Mojang didn't implement this correctly, so we'll fix it
     }
 
+    // Ban lists keep their expiring entries in a queue, see BanEntryMap
+    @Inject(method = "removeExpired", at = @At("HEAD"), cancellable = true)
+    private void onRemoveExpired(CallbackInfo ci) {
+        if (this.values instanceof BanEntryMap) {
+            ((BanEntryMap<?>) this.values).removeExpired();
+            ci.cancel();
+        }
+    }
+
     // Don't throw exception if user list file does not exist
     @Inject(method = "readSavedFile", at = @At("HEAD"), cancellable = true)
     private void onReadSavedFile(CallbackInfo ci) {
@@ -34,9 +34,15 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.ban.BanEntryMap;
+import org.spongepowered.common.service.ban.SpongeBanService;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Mixin(UserListBans.class)
@@ -46,6 +52,11 @@ public MixinUserListBans(File saveFile) {
         super(saveFile);
     }
 
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onInit(CallbackInfo ci) {
+        this.values = new BanEntryMap<>();
+    }
+
     @Override
     public boolean hasEntry(com.mojang.authlib.GameProfile object) {
         return Sponge.getServiceManager().provideUnchecked(BanService.class).isBanned((GameProfile) object);
@@ -67,7 +78,7 @@ public UserListBansEntry getEntry(com.mojang.authlib.GameProfile object) {
     @Override
     public String[] getKeys() {
         List<String> names = new ArrayList<>();
-        for (Ban.Profile ban: Sponge.getServiceManager().provideUnchecked(BanService.class).getProfileBans()) {
+        for (Ban.Profile ban: getProfileBans()) {
             if (ban.getProfile().getName().isPresent()) {
                 names.add(ban.getProfile().getName().get());
             }
@@ -82,7 +93,7 @@ public void addEntry(UserListBansEntry entry) {
 
     @Override
     public boolean isEmpty() {
-        return Sponge.getServiceManager().provideUnchecked(BanService.class).getProfileBans().isEmpty();
+        return getProfileBans().isEmpty();
     }
 
     @Override
@@ -100,7 +111,7 @@ public void removeEntry(com.mojang.authlib.GameProfile object) {
      */
     @Overwrite
     public com.mojang.authlib.GameProfile getBannedProfile(String username) {
-        for (Ban.Profile ban: Sponge.getServiceManager().provideUnchecked(BanService.class).getProfileBans()) {
+        for (Ban.Profile ban: getProfileBans()) {
             if (ban.getProfile().getName().isPresent()) {
                 if (ban.getProfile().getName().get().equals(username)) {
                     return (com.mojang.authlib.GameProfile) ban.getProfile();
@@ -110,4 +121,9 @@ public com.mojang.authlib.GameProfile getBannedProfile(String username) {
         return null;
     }
 
+    private static Collection<Ban.Profile> getProfileBans() {
+        final BanService service = Sponge.getServiceManager().provideUnchecked(BanService.class);
+        return service instanceof SpongeBanService ? ((SpongeBanService) service).getProfileBansView() : service.getProfileBans();
+    }
+
 }
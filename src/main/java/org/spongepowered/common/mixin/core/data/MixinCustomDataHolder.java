@@ -28,18 +28,26 @@
 
 import com.google.common.collect.Lists;
 import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.tileentity.TileEntity;
 import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -49,6 +57,8 @@
 public abstract class MixinCustomDataHolder implements IMixinCustomDataHolder {
 
     private List<DataManipulator<?, ?>> manipulators = Lists.newArrayList();
+    // The serialized form of each manipulator, a manipulator without an entry is dirty
+    private final Map<DataManipulator<?, ?>, NBTTagCompound> serializedManipulators = new IdentityHashMap<>();
 
     @SuppressWarnings("rawtypes")
     @Override
@@ -65,6 +75,7 @@ public DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator, Merg
         if (existingManipulator != null) {
             builder.replace(existingManipulator.getValues());
             this.manipulators.remove(existingManipulator);
+            this.serializedManipulators.remove(existingManipulator);
         }
         this.manipulators.add(newManipulator);
         return builder.success(newManipulator.getValues())
@@ -93,6 +104,7 @@ public DataTransactionResult removeCustom(Class<? extends DataManipulator<?, ?>>
         }
         if (manipulator != null) {
             this.manipulators.remove(manipulator);
+            this.serializedManipulators.remove(manipulator);
             this.removeCustomFromNbt(manipulator);
             return DataTransactionResult.builder().replace(manipulator.getValues()).result(DataTransactionResult.Type.SUCCESS).build();
         } else {
@@ -118,7 +130,11 @@ public <E> Optional<E> getCustom(Key<? extends BaseValue<E>> key) {
         return this.manipulators.stream()
                 .filter(manipulator -> manipulator.supports(key))
                 .findFirst()
-                .flatMap(supported -> supported.get(key));
+                .flatMap(supported -> {
+                    // The element is not copied and may be mutated by the caller
+                    this.serializedManipulators.remove(supported);
+                    return supported.get(key);
+                });
     }
 
     @Override
@@ -126,7 +142,10 @@ public <E, V extends BaseValue<E>> Optional<V> getCustomValue(Key<V> key) {
         return this.manipulators.stream()
                 .filter(manipulator -> manipulator.supports(key))
                 .findFirst()
-                .flatMap(supported -> supported.getValue(key));
+                .flatMap(supported -> {
+                    this.serializedManipulators.remove(supported);
+                    return supported.getValue(key);
+                });
     }
 
     @Override
@@ -134,6 +153,21 @@ public <E, V extends BaseValue<E>> Optional<V> getCustomValue(Key<V> key) {
         return this.manipulators.stream().map(DataManipulator::copy).collect(Collectors.toList());
     }
 
+    @Override
+    public NBTTagList getSerializedCustomManipulators() {
+        final NBTTagList manipulatorTagList = new NBTTagList();
+        for (DataManipulator<?, ?> manipulator : this.manipulators) {
+            NBTTagCompound serialized = this.serializedManipulators.get(manipulator);
+            if (serialized == null) {
+                final DataView dataView = DataUtil.getSerializedManipulatorList(Collections.singletonList(manipulator)).get(0);
+                serialized = NbtTranslator.getInstance().translateData(dataView);
+                this.serializedManipulators.put(manipulator, serialized);
+            }
+            manipulatorTagList.appendTag(serialized.copy());
+        }
+        return manipulatorTagList;
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public <E> DataTransactionResult offerCustom(Key<? extends BaseValue<E>> key, E value) {
@@ -142,6 +176,7 @@ public <E> DataTransactionResult offerCustom(Key<? extends BaseValue<E>> key, E
                 final DataTransactionResult.Builder builder = DataTransactionResult.builder();
                 builder.replace(((Value) manipulator.getValue((Key) key).get()).asImmutable());
                 manipulator.set(key, value);
+                this.serializedManipulators.remove(manipulator);
                 builder.success(((Value) manipulator.getValue((Key) key).get()).asImmutable());
                 return builder.result(DataTransactionResult.Type.SUCCESS).build();
             }
@@ -156,6 +191,7 @@ public DataTransactionResult removeCustom(Key<?> key) {
             final DataManipulator<?, ?> manipulator = iterator.next();
             if (manipulator.getKeys().size() == 1 && manipulator.supports(key)) {
                 iterator.remove();
+                this.serializedManipulators.remove(manipulator);
                 removeCustomFromNbt(manipulator);
                 return DataTransactionResult.builder()
                     .replace(manipulator.getValues())
@@ -864,16 +864,8 @@ public void readFromNbt(NBTTagCompound compound) {
      */
     @Override
     public void writeToNbt(NBTTagCompound compound) {
-        if (this instanceof IMixinCustomDataHolder) {
-            final List<DataManipulator<?, ?>> manipulators = ((IMixinCustomDataHolder) this).getCustomManipulators();
-            if (!manipulators.isEmpty()) {
-                final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(manipulators);
-                final NBTTagList manipulatorTagList = new NBTTagList();
-                for (DataView dataView : manipulatorViews) {
-                    manipulatorTagList.appendTag(NbtTranslator.getInstance().translateData(dataView));
-                }
-                compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, manipulatorTagList);
-            }
+        if (this instanceof IMixinCustomDataHolder && ((IMixinCustomDataHolder) this).hasManipulators()) {
+            compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, ((IMixinCustomDataHolder) this).getSerializedCustomManipulators());
         }
         if (this instanceof IMixinGriefer && ((IMixinGriefer) this).isGriefer()) {
             compound.setBoolean(NbtDataUtil.CAN_GRIEF, ((IMixinGriefer) this).canGrief());
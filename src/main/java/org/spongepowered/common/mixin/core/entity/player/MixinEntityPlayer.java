@@ -156,6 +156,13 @@ public void construct(World worldIn, GameProfile gameProfileIn, CallbackInfo ci)
         this.targetedLocation = VecHelper.toVector3d(worldIn.getSpawnPoint());
     }
 
+    @Inject(method = "setItemStackToSlot", at = @At("HEAD"))
+    private void onSetItemStackToSlot(CallbackInfo ci) {
+        // Held items and armor are written straight into the inventory arrays,
+        // marking the inventory dirty keeps its contents revision in step
+        this.inventory.markDirty();
+    }
+
     @Inject(method = "getDisplayName", at = @At("RETURN"), cancellable = true, locals = LocalCapture.CAPTURE_FAILHARD)
     public void onGetDisplayName(CallbackInfoReturnable<ITextComponent> ci, TextComponentString component) {
         ci.setReturnValue(LegacyTexts.parseComponent(component, SpongeTexts.COLOR_CHAR));
@@ -45,7 +45,6 @@
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.SPacketBlockChange;
-import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.network.play.server.SPacketCombatEvent;
 import net.minecraft.network.play.server.SPacketResourcePackSend;
 import net.minecraft.network.play.server.SPacketSoundEffect;
@@ -138,11 +137,11 @@
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.IMixinTeam;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
+import org.spongepowered.common.interfaces.text.IMixinText;
 import org.spongepowered.common.interfaces.text.IMixinTitle;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
 import org.spongepowered.common.text.SpongeTexts;
-import org.spongepowered.common.text.chat.SpongeChatType;
 import org.spongepowered.common.util.BookFaker;
 import org.spongepowered.common.util.LanguageUtil;
 import org.spongepowered.common.util.NetworkUtil;
@@ -196,6 +195,17 @@ public abstract class MixinEntityPlayerMP extends MixinEntityPlayer implements P
 
     @Nullable private Vector3d velocityOverride = null;
 
+    // The client keeps an action bar fully visible for 40 ticks before fading it
+    // out, so resending an identical action bar sooner than this only restarts
+    // what the client is already displaying.
+    private static final int ACTION_BAR_REFRESH_TICKS = 20;
+    // Titles shown for less than this are never deduplicated, as each send matters
+    private static final int MIN_TITLE_DEDUPLICATION_TICKS = 10;
+    @Nullable private Text lastActionBar;
+    private int lastActionBarTick;
+    @Nullable private Title lastTitle;
+    private int lastTitleTick;
+
     @Inject(method = "removeEntity", at = @At(value = "INVOKE",
             target = "Lnet/minecraft/network/NetHandlerPlayServer;sendPacket(Lnet/minecraft/network/Packet;)V"))
     private void onRemoveEntity(Entity entityIn, CallbackInfo ci) {
@@ -357,12 +367,21 @@ public void sendMessage(ChatType type, Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
-        ITextComponent component = SpongeTexts.toComponent(message);
         if (type == ChatTypes.ACTION_BAR) {
-            component = SpongeTexts.fixActionBarFormatting(component);
+            final int tick = this.mcServer.getTickCounter();
+            if (this.lastActionBar != null && this.lastActionBar.equals(message)) {
+                if (tick - this.lastActionBarTick < ACTION_BAR_REFRESH_TICKS) {
+                    return;
+                }
+                // Keep the previous instance, its action bar component and
+                // JSON are already converted
+                message = this.lastActionBar;
+            } else {
+                this.lastActionBar = message;
+            }
+            this.lastActionBarTick = tick;
         }
-
-        this.connection.sendPacket(new SPacketChat(component, ((SpongeChatType) type).getByteId()));
+        this.connection.sendPacket(((IMixinText) message).toPacket(type));
     }
 
     @Override
@@ -372,9 +391,37 @@ public void sendBookView(BookView bookView) {
 
     @Override
     public void sendTitle(Title title) {
+        checkNotNull(title, "title");
+
+        final int tick = this.mcServer.getTickCounter();
+        if (this.lastTitle != null && this.lastTitle.equals(title)) {
+            if (tick - this.lastTitleTick < getTitleDeduplicationTicks(title)) {
+                return;
+            }
+            // Keep the previous instance, its packets are already converted
+            title = this.lastTitle;
+        } else {
+            this.lastTitle = title;
+        }
+        this.lastTitleTick = tick;
         ((IMixinTitle) (Object) title).send((EntityPlayerMP) (Object) this);
     }
 
+    /**
+     * Gets for how long after being sent an identical title would only
+     * restart what the client is still fully displaying, that is until it
+     * starts fading out.
+     */
+    private static int getTitleDeduplicationTicks(Title title) {
+        if (!title.getFadeIn().isPresent() && !title.getStay().isPresent() && !title.getFadeOut().isPresent()) {
+            // The client keeps whatever times it was sent last
+            return 0;
+        }
+        // Unset times are sent with their defaults
+        final int ticks = title.getFadeIn().orElse(20) + title.getStay().orElse(60);
+        return ticks < MIN_TITLE_DEDUPLICATION_TICKS ? 0 : ticks;
+    }
+
     @Override
     public void spawnParticles(ParticleEffect particleEffect, Vector3d position) {
         this.spawnParticles(particleEffect, position, Integer.MAX_VALUE);
@@ -41,6 +41,7 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.interfaces.entity.player.IMixinInventoryPlayer;
 import org.spongepowered.common.item.inventory.adapter.impl.comp.HotbarAdapter;
 import org.spongepowered.common.item.inventory.adapter.impl.slots.EquipmentSlotAdapter;
@@ -70,6 +71,7 @@ public abstract class MixinInventoryPlayer implements IMixinInventoryPlayer, Hum
 
     private Humanoid carrier;
     private HotbarAdapter hotbar;
+    private int contentsRevision;
 
     @Inject(method = "<init>*", at = @At("RETURN"), remap = false)
     private void onConstructed(EntityPlayer playerIn, CallbackInfo ci) {
@@ -79,6 +81,21 @@ private void onConstructed(EntityPlayer playerIn, CallbackInfo ci) {
         this.carrier = playerIn instanceof Humanoid ? (Humanoid) playerIn : null;
     }
 
+    @Inject(method = {"setInventorySlotContents", "copyInventory", "readFromNBT", "markDirty", "clear"}, at = @At("HEAD"))
+    private void onContentsChange(CallbackInfo ci) {
+        this.contentsRevision++;
+    }
+
+    @Inject(method = {"addItemStackToInventory", "decrStackSize", "removeStackFromSlot", "clearMatchingItems"}, at = @At("HEAD"))
+    private void onContentsChangeReturning(CallbackInfoReturnable<?> cir) {
+        this.contentsRevision++;
+    }
+
+    @Override
+    public int getContentsRevision() {
+        return this.contentsRevision;
+    }
+
     @Override
     public Lens<IInventory, net.minecraft.item.ItemStack> getRootLens() {
         return this.lens;
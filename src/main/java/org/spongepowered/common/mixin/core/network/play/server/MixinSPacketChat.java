@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.network.play.server;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+@Mixin(SPacketChat.class)
+public abstract class MixinSPacketChat implements IMixinSPacketChat {
+
+    @Shadow private ITextComponent chatComponent;
+    @Shadow private byte type;
+
+    @Nullable private String serializedComponent;
+    // The component the JSON was serialized from
+    @Nullable private ITextComponent serializedFrom;
+
+    @Override
+    public void setSerializedComponent(String json) {
+        this.serializedComponent = json;
+        this.serializedFrom = this.chatComponent;
+    }
+
+    @Inject(method = "writePacketData", at = @At("HEAD"), cancellable = true)
+    private void onWritePacketData(PacketBuffer buf, CallbackInfo ci) throws IOException {
+        // The JSON no longer applies once the component was reassigned
+        if (this.serializedComponent != null && this.serializedFrom == this.chatComponent) {
+            buf.writeString(this.serializedComponent);
+            buf.writeByte(this.type);
+            ci.cancel();
+        }
+    }
+
+}
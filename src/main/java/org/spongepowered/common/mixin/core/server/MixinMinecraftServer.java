@@ -97,6 +97,7 @@
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
 import org.spongepowered.common.text.SpongeTexts;
@@ -305,6 +306,13 @@ public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
     }
 
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // Write any auto populated config data still waiting on the background saver
+        SpongeConfig.flushPendingSaves();
+        SpongeMetrics.stop();
+    }
+
     /**
      * @author blood - December 23rd, 2015
      * @author Zidane - March 13th, 2016
@@ -552,6 +560,7 @@ public String toString() {
     @Inject(method = "tick", at = @At(value = "HEAD"))
     public void onServerTickStart(CallbackInfo ci) {
         TimingsManager.FULL_SERVER_TICK.startTiming();
+        SpongeMetrics.onTickStart();
     }
 
     @Inject(method = "tick", at = @At(value = "RETURN"))
@@ -566,6 +575,7 @@ public void onServerTickEnd(CallbackInfo ci) {
         }
         SpongeCommonEventFactory.lastAnimationPacketTick = 0;
         TimingsManager.FULL_SERVER_TICK.stopTiming();
+        SpongeMetrics.onTickEnd((MinecraftServer) (Object) this);
     }
 
     private int dimensionId;
@@ -250,12 +250,7 @@ public void readFromNbt(NBTTagCompound compound) {
     @Override
     public void writeToNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
-            final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(((IMixinCustomDataHolder) this).getCustomManipulators());
-            final NBTTagList manipulatorTagList = new NBTTagList();
-            for (DataView dataView : manipulatorViews) {
-                manipulatorTagList.appendTag(NbtTranslator.getInstance().translateData(dataView));
-            }
-            compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, manipulatorTagList);
+            compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, ((IMixinCustomDataHolder) this).getSerializedCustomManipulators());
         }
     }
 
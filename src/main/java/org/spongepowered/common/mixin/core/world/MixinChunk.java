@@ -34,6 +34,7 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
@@ -97,6 +98,7 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
@@ -128,6 +130,7 @@ public abstract class MixinChunk implements Chunk, IMixinChunk {
     private org.spongepowered.api.world.World world;
     private UUID uuid;
     private Long scheduledForUnload; // delay chunk unloads
+    @Nullable private ShortSet pendingPortals; // read along with the chunk, indexed once loaded
     private SpongeProfileManager spongeProfileManager;
     private UserStorageService userStorageService;
     private Chunk[] neighbors = new Chunk[4];
@@ -201,6 +204,9 @@ public void onConstructed(World world, int x, int z, CallbackInfo ci) {
     public void onChunkLoadInject(CallbackInfo ci) {
         if (!this.worldObj.isRemote) {
             SpongeHooks.logChunkLoad(this.worldObj, this.chunkPos);
+            SpongeMetrics.onChunkLoad();
+            ((IMixinWorldServer) this.worldObj).getPortalIndex().onChunkLoad(this.xPosition, this.zPosition, this.pendingPortals);
+            this.pendingPortals = null;
         }
 
         Direction[] directions = {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
@@ -219,6 +225,8 @@ public void onChunkLoadInject(CallbackInfo ci) {
     public void onChunkUnloadInject(CallbackInfo ci) {
         if (!this.worldObj.isRemote) {
             SpongeHooks.logChunkUnload(this.worldObj, this.chunkPos);
+            SpongeMetrics.onChunkUnload();
+            ((IMixinWorldServer) this.worldObj).getPortalIndex().onChunkUnload(this.xPosition, this.zPosition);
         }
 
         Direction[] directions = {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
@@ -551,6 +559,11 @@ public IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState
 
         extendedblockstorage.set(xPos, yPos & 15, zPos, newState);
 
+        // Sponge - keep the portal index used by teleporters up to date
+        if (!this.worldObj.isRemote && (newBlock == Blocks.PORTAL) != (currentBlock == Blocks.PORTAL)) {
+            ((IMixinWorldServer) this.worldObj).getPortalIndex().update(pos, newBlock == Blocks.PORTAL);
+        }
+
         // Sponge Start
         // if (block1 != block) // Sponge - Forge removes this change.
         {
@@ -1189,4 +1202,9 @@ public Long getScheduledForUnload() {
     public void setScheduledForUnload(Long scheduled) {
         this.scheduledForUnload = scheduled;
     }
+
+    @Override
+    public void setPendingPortals(@Nullable ShortSet portals) {
+        this.pendingPortals = portals;
+    }
 }
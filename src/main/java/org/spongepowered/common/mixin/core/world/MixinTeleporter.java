@@ -193,30 +193,12 @@ public Optional<Location<World>> findPortal(Location<World> searchLocation) {
             addToCache = false;
         } else {
             BlockPos blockSearchPosition = ((IMixinLocation) (Object) searchLocation).getBlockPos();
-
-            for (int i1 = -this.searchRadius; i1 <= this.searchRadius; ++i1) {
-                BlockPos blockpos2;
-
-                for (int j1 = -this.searchRadius; j1 <= this.searchRadius; ++j1) {
-                    for (BlockPos blockpos1 =
-                            blockSearchPosition.add(i1, this.worldServerInstance.getActualHeight() - 1 - blockSearchPosition.getY(), j1); blockpos1
-                                    .getY() >= 0; blockpos1 = blockpos2) {
-                        blockpos2 = blockpos1.down();
-
-                        if (this.worldServerInstance.getBlockState(blockpos1).getBlock() == Blocks.PORTAL) {
-                            while (this.worldServerInstance.getBlockState(blockpos2 = blockpos1.down()).getBlock() == Blocks.PORTAL) {
-                                blockpos1 = blockpos2;
-                            }
-
-                            double distance = blockpos1.distanceSq(blockSearchPosition);
-
-                            if (closest < 0.0D || distance < closest) {
-                                closest = distance;
-                                portalPosition = blockpos1;
-                            }
-                        }
-                    }
-                }
+            // Sponge - query the portal index of the world instead of scanning every block in range
+            BlockPos closestPortal = ((IMixinWorldServer) this.worldServerInstance).getPortalIndex()
+                    .findNearest(blockSearchPosition, this.searchRadius, this.worldServerInstance.getActualHeight());
+            if (closestPortal != null) {
+                closest = closestPortal.distanceSq(blockSearchPosition);
+                portalPosition = closestPortal;
             }
         }
 
@@ -128,6 +128,8 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.WorldConfigSnapshot;
+import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.data.persistence.ConfigurateTranslator;
 import org.spongepowered.common.data.util.DataQueries;
@@ -156,6 +158,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.interfaces.world.gen.IPopulatorProvider;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
@@ -164,10 +167,12 @@
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
+import org.spongepowered.common.world.explosion.ExplosionCache;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeGenerationPopulator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 import org.spongepowered.common.world.gen.WorldGenConstants;
+import org.spongepowered.common.world.portal.PortalIndex;
 import org.spongepowered.common.world.type.SpongeWorldType;
 
 import java.io.BufferedWriter;
@@ -201,6 +206,7 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private final Map<net.minecraft.entity.Entity, Vector3d> rotationUpdates = new HashMap<>();
     private SpongeChunkGenerator spongegen;
     private SpongeConfig<?> activeConfig;
+    @Nullable private WorldConfigSnapshot configSnapshot;
     protected long weatherStartTime;
     protected Weather prevWeather;
     protected WorldTimingsHandler timings = new WorldTimingsHandler((WorldServer) (Object) this);
@@ -210,6 +216,8 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private long chunkUnloadDelay = 30000;
     private boolean weatherThunderEnabled = true;
     private boolean weatherIceAndSnowEnabled = true;
+    @Nullable private ExplosionCache explosionCache;
+    private final PortalIndex portalIndex = new PortalIndex((WorldServer) (Object) this);
 
     @Shadow @Final private MinecraftServer mcServer;
     @Shadow @Final private Set<NextTickListEntry> pendingTickListEntriesHashSet;
@@ -255,6 +263,10 @@ public void onConstruct(MinecraftServer server, ISaveHandler saveHandlerIn, Worl
         this.weatherIceAndSnowEnabled = this.getActiveConfig().getConfig().getWorld().getWeatherIceAndSnow();
         this.weatherThunderEnabled = this.getActiveConfig().getConfig().getWorld().getWeatherThunder();
         this.updateEntityTick = 0;
+        final GlobalConfig globalConfig = SpongeImpl.getGlobalConfig().getConfig();
+        if (globalConfig.getModules().useOptimizations() && globalConfig.getOptimizations().useCachedExplosionExposure()) {
+            this.explosionCache = new ExplosionCache();
+        }
     }
 
     @Inject(method = "createBonusChest", at = @At(value = "HEAD"))
@@ -300,6 +312,17 @@ public boolean isProcessingExplosion() {
         return this.processingExplosion;
     }
 
+    @Nullable
+    @Override
+    public ExplosionCache getExplosionCache() {
+        return this.explosionCache;
+    }
+
+    @Override
+    public PortalIndex getPortalIndex() {
+        return this.portalIndex;
+    }
+
     @Override
     public boolean isMinecraftChunkLoaded(int x, int z, boolean allowEmpty) {
         return this.isChunkLoaded(x, z, allowEmpty);
@@ -316,9 +339,18 @@ public SpongeConfig<?> getActiveConfig() {
         return this.activeConfig;
     }
 
+    @Override
+    public WorldConfigSnapshot getConfigSnapshot() {
+        if (this.configSnapshot == null || this.configSnapshot.getRevision() != this.activeConfig.getRevision()) {
+            this.configSnapshot = new WorldConfigSnapshot(this.activeConfig);
+        }
+        return this.configSnapshot;
+    }
+
     @Override
     public void setActiveConfig(SpongeConfig<?> config) {
         this.activeConfig = config;
+        this.configSnapshot = new WorldConfigSnapshot(config);
         // update cached settings
         this.chunkGCLoadThreshold = this.activeConfig.getConfig().getWorld().getChunkLoadThreadhold();
         this.chunkGCTickInterval = this.activeConfig.getConfig().getWorld().getTickInterval();
@@ -753,6 +785,9 @@ public boolean onFireBlockEvent(net.minecraft.world.WorldServer worldIn, BlockEv
     public void onTickEnd(CallbackInfo ci) {
         // Clean up any leaked chunks
         this.doChunkGC();
+        if (this.explosionCache != null) {
+            this.explosionCache.clear();
+        }
     }
 
     // Chunk GC
@@ -1063,6 +1098,9 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
         } else if (this.worldInfo.getTerrainType() == WorldType.DEBUG_WORLD) { // isRemote is always false since this is WorldServer
             return false;
         } else {
+            if (this.explosionCache != null) {
+                this.explosionCache.invalidate(pos);
+            }
             // Sponge - reroute to the CauseTracker
             return this.getCauseTracker().setBlockState(pos, newState, flags);
         }
@@ -1075,6 +1113,9 @@ public boolean setBlockState(BlockPos pos, IBlockState state, BlockChangeFlag fl
         } else if (this.worldInfo.getTerrainType() == WorldType.DEBUG_WORLD) { // isRemote is always false since this is WorldServer
             return false;
         } else {
+            if (this.explosionCache != null) {
+                this.explosionCache.invalidate(pos);
+            }
             // Sponge - reroute to the CauseTracker
             return this.getCauseTracker().setBlockStateWithFlag(pos, state, flag);
         }
@@ -1441,6 +1482,7 @@ public PortalAgent getPortalAgent() {
     protected void startEntityGlobalTimings() {
         this.timings.entityTick.startTiming();
         co.aikar.timings.TimingHistory.entityTicks += this.loadedEntityList.size();
+        SpongeMetrics.onEntityTicks(this.loadedEntityList.size());
     }
 
     @Override
@@ -1509,6 +1551,7 @@ protected void startPendingTileEntityTimings() {
     protected void endPendingTileEntities() {
         this.timings.tileEntityPending.stopTiming();
         TimingHistory.tileEntityTicks += this.loadedTileEntityList.size();
+        SpongeMetrics.onTileEntityTicks(this.loadedTileEntityList.size());
     }
 
     @Inject(method = "tick", at = @At(value = "INVOKE_STRING", target = PROFILER_ESS, args = "ldc=tickPending") )
@@ -29,6 +29,7 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.math.ChunkPos;
@@ -59,13 +60,20 @@
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.world.portal.PortalIndex;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
@@ -79,6 +87,7 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
+        SpongeMetrics.onChunkSave();
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
         // Add tracked block positions
@@ -110,6 +119,14 @@ public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World wor
                 positions.appendTag(valueNbt);
             }
         }
+
+        if (worldIn instanceof IMixinWorldServer) {
+            NBTTagCompound spongeData = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
+            ((IMixinWorldServer) worldIn).getPortalIndex().writeChunk(chunkIn, spongeData);
+            if (!spongeData.hasNoTags()) {
+                compound.setTag(NbtDataUtil.SPONGE_DATA, spongeData);
+            }
+        }
     }
 
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
@@ -145,6 +162,14 @@ public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackI
         }
     }
 
+    @Inject(method = "readChunkFromNBT", at = @At("RETURN"))
+    public void onReadChunkFromNBTReturn(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci) {
+        // May run on the chunk IO thread, so the portals are only indexed once the chunk loads
+        if (worldIn instanceof IMixinWorldServer && ci.getReturnValue() != null) {
+            ((IMixinChunk) ci.getReturnValue()).setPendingPortals(PortalIndex.readPortals(ci.getReturnValue(), compound));
+        }
+    }
+
     /**
      * @author gabizou - January 30th, 2016
      *
@@ -204,4 +229,22 @@ public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Nullable
+    @Override
+    public NBTTagCompound readChunkLevelCompound(int x, int z) throws IOException {
+        NBTTagCompound root = this.chunksToRemove.get(new ChunkPos(x, z));
+        if (root == null) {
+            DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z);
+            if (stream == null) {
+                return null;
+            }
+            try {
+                root = CompressedStreamTools.read(stream);
+            } finally {
+                stream.close();
+            }
+        }
+        return root.hasKey(NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.TAG_COMPOUND) ? root.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL) : null;
+    }
+
 }
@@ -51,6 +51,7 @@
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
@@ -85,6 +86,11 @@ public CompletableFuture<Optional<DataContainer>> getChunkData(Vector3i chunkCoo
         return WorldStorageUtil.getChunkData(this.worldObj, this.chunkLoader, chunkCoords);
     }
 
+    @Override
+    public IChunkLoader getChunkLoader() {
+        return this.chunkLoader;
+    }
+
     @Override
     public WorldProperties getWorldProperties() {
         return (WorldProperties) this.worldObj.getWorldInfo();
@@ -118,6 +124,7 @@ public void onProvideChunkEnd(int x, int z, CallbackInfoReturnable<Chunk> ci) {
         if (CauseTracker.ENABLED) {
             ((IMixinWorldServer) this.worldObj).getCauseTracker().completePhase();
         }
+        SpongeMetrics.onChunkGenerated();
     }
 
     @Inject(method = "unloadQueuedChunks", at = @At("HEAD"))
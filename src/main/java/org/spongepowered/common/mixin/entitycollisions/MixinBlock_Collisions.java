@@ -94,7 +94,7 @@ public void initializeCollisionState(World worldIn) {
             collisionCat.getModList().put(modId, collisionMod);
             collisionMod.getBlockList().put(name, spongeBlock.getMaxCollisions());
             if (activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-                activeConfig.save();
+                activeConfig.saveLater();
             }
 
             return;
@@ -123,7 +123,7 @@ public void initializeCollisionState(World worldIn) {
         }
 
         if (activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-            activeConfig.save();
+            activeConfig.saveLater();
         }
     }
 }
@@ -30,35 +30,56 @@
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.world.World;
-import org.spongepowered.api.block.BlockSnapshot;
-import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
-import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionCaps;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IMixinWorld_Collisions;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public class MixinChunk_Collisions {
 
     @Shadow @Final private World worldObj;
 
+    // The cap is resolved by MixinWorld_Collisions before the world loops over
+    // the chunks of a query, once the list is full every further chunk exits
+    // before iterating its entity lists.
+
+    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At("HEAD"), cancellable = true)
+    public void onCollisionQueryStart(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<? super Entity> predicate,
+            CallbackInfo ci) {
+        if (ignoreCollisionCap(entityIn)) {
+            return;
+        }
+
+        if (!allowEntityCollision(listToFill)) {
+            ci.cancel();
+        }
+    }
+
     @Inject(method = "getEntitiesWithinAABBForEntity",
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
     public void onAddCollisionEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<? super Entity> predicate,
             CallbackInfo ci) {
-        // ignore players and entities with parts (ex. EnderDragon)
-        if (this.worldObj.isRemote || entityIn == null || entityIn instanceof EntityPlayer || entityIn.getParts() != null) {
+        if (ignoreCollisionCap(entityIn)) {
+            return;
+        }
+
+        if (!allowEntityCollision(listToFill)) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "getEntitiesOfTypeWithinAAAB", at = @At("HEAD"), cancellable = true)
+    public <T extends Entity> void onCollisionQueryStart(Class<? extends T> entityClass, AxisAlignedBB aabb, List<T> listToFill,
+            Predicate<? super T> p_177430_4_, CallbackInfo ci) {
+        if (ignoreCollisionCap(entityClass)) {
             return;
         }
 
@@ -71,9 +92,7 @@ public void onAddCollisionEntity(Entity entityIn, AxisAlignedBB aabb, List<Entit
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
     public <T extends Entity> void onAddCollisionEntity(Class<? extends T> entityClass, AxisAlignedBB aabb, List<T> listToFill,
             Predicate<? super T> p_177430_4_, CallbackInfo ci) {
-        // ignore player checks
-        // ignore item check (ex. Hoppers)
-        if (this.worldObj.isRemote || EntityPlayer.class.isAssignableFrom(entityClass) || EntityItem.class == entityClass) {
+        if (ignoreCollisionCap(entityClass)) {
             return;
         }
 
@@ -82,42 +101,26 @@ public <T extends Entity> void onAddCollisionEntity(Class<? extends T> entityCla
         }
     }
 
-    private <T extends Entity> boolean allowEntityCollision(List<T> listToFill) {
-        if (this.worldObj instanceof IMixinWorldServer) {
-            IMixinWorldServer spongeWorld = (IMixinWorldServer) this.worldObj;
-            if (spongeWorld.isProcessingExplosion()) {
-                // allow explosions
+    private boolean ignoreCollisionCap(Entity entityIn) {
+        // ignore players and entities with parts (ex. EnderDragon)
+        return this.worldObj.isRemote || entityIn == null || entityIn instanceof EntityPlayer || entityIn.getParts() != null;
+    }
+
+    private boolean ignoreCollisionCap(Class<? extends Entity> entityClass) {
+        // ignore player checks
+        // ignore item check (ex. Hoppers)
+        return this.worldObj.isRemote || EntityPlayer.class.isAssignableFrom(entityClass) || EntityItem.class == entityClass;
+    }
+
+    private boolean allowEntityCollision(List<?> listToFill) {
+        int cap = ((IMixinWorld_Collisions) this.worldObj).getCollisionCap();
+        if (cap == IMixinWorld_Collisions.NO_QUERY) {
+            // Queried directly rather than through the world
+            if (!(this.worldObj instanceof IMixinWorldServer) || ((IMixinWorldServer) this.worldObj).isProcessingExplosion()) {
                 return true;
             }
-
-            final PhaseContext phaseContext = spongeWorld.getCauseTracker().getCurrentContext();
-
-            return Stream.<Supplier<Optional<Boolean>>>of(
-                    () -> phaseContext.getSource(BlockSnapshot.class).map(tickBlock -> {
-                        BlockType blockType = tickBlock.getState().getType();
-                        IModData_Collisions spongeBlock = (IModData_Collisions) blockType;
-                        if (spongeBlock.requiresCollisionsCacheRefresh()) {
-                            spongeBlock.initializeCollisionState(this.worldObj);
-                            spongeBlock.requiresCollisionsCacheRefresh(false);
-                        }
-
-                        return !((spongeBlock.getMaxCollisions() >= 0) && (listToFill.size() >= spongeBlock.getMaxCollisions()));
-                    }),
-                    () -> phaseContext.getSource(IModData_Collisions.class).map(spongeEntity -> {
-                            if (spongeEntity.requiresCollisionsCacheRefresh()) {
-                                spongeEntity.initializeCollisionState(this.worldObj);
-                                spongeEntity.requiresCollisionsCacheRefresh(false);
-                            }
-
-                            return !((spongeEntity.getMaxCollisions() >= 0) && (listToFill.size() >= spongeEntity.getMaxCollisions()));
-                    })
-            ).map(Supplier::get)
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst()
-            .orElse(true);
+            cap = EntityCollisionCaps.getCollisionCap(((IMixinWorldServer) this.worldObj).getCauseTracker().getCurrentContext(), this.worldObj);
         }
-
-        return true;
+        return cap < 0 || listToFill.size() < cap;
     }
 }
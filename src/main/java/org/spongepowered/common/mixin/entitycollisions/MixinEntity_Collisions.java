@@ -34,6 +34,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.WorldConfigSnapshot;
 import org.spongepowered.common.config.category.CollisionModCategory;
 import org.spongepowered.common.config.category.EntityCollisionCategory;
 import org.spongepowered.common.entity.SpongeEntityType;
@@ -109,6 +110,27 @@ public void setModDataId(String id) {
 
     @Override
     public void initializeCollisionState(World worldObj) {
+        // The snapshot only holds per type values, so it doesn't apply to item entities named
+        // after their item, nor to entities whose mod data name or id were overridden
+        final boolean namedAfterType = !(this.mcEntity instanceof EntityItem) && this.spongeEntityType != null
+                && this.spongeEntityType.getName().equals(this.entityName) && this.spongeEntityType.getModId().equals(this.entityModId);
+        final WorldConfigSnapshot snapshot = ((IMixinWorldServer) worldObj).getConfigSnapshot();
+        if (namedAfterType) {
+            final int snapshotMaxCollisions = snapshot.getMaxCollisions(this.spongeEntityType);
+            if (snapshotMaxCollisions != WorldConfigSnapshot.UNRESOLVED) {
+                this.maxCollisions = snapshotMaxCollisions;
+                return;
+            }
+        }
+
+        initializeCollisionStateFromConfig(worldObj);
+        if (namedAfterType) {
+            // Resolved once, any data auto populated for the type is now in the config
+            snapshot.setMaxCollisions(this.spongeEntityType, this.maxCollisions);
+        }
+    }
+
+    private void initializeCollisionStateFromConfig(World worldObj) {
         SpongeConfig<?> activeConfig = ((IMixinWorldServer) worldObj).getActiveConfig();
         EntityCollisionCategory collisionCat = activeConfig.getConfig().getEntityCollisionCategory();
         this.maxCollisions = collisionCat.getMaxEntitiesWithinAABB();
@@ -118,7 +140,7 @@ public void initializeCollisionState(World worldObj) {
             collisionMod = new CollisionModCategory(this.entityModId);
             collisionCat.getModList().put(this.entityModId, collisionMod);
             collisionMod.getEntityList().put(this.entityName, maxCollisions);
-            activeConfig.save();
+            activeConfig.saveLater();
             return;
         } else if (collisionMod != null) {
             if (!collisionMod.isEnabled()) {
@@ -154,7 +176,7 @@ public void initializeCollisionState(World worldObj) {
         }
 
         if (requiresSave && activeConfig.getConfig().getEntityCollisionCategory().autoPopulateData()) {
-            activeConfig.save();
+            activeConfig.saveLater();
         }
         return;
     }
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entitycollisions;
+
+import com.google.common.base.Predicate;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionCaps;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IMixinWorld_Collisions;
+
+import java.util.List;
+
+@Mixin(World.class)
+public abstract class MixinWorld_Collisions implements IMixinWorld_Collisions {
+
+    private int collisionCap = NO_QUERY;
+    // The caps of the enclosing queries, restored as nested queries return
+    private final IntArrayList enclosingCollisionCaps = new IntArrayList();
+
+    @Override
+    public int getCollisionCap() {
+        return this.collisionCap;
+    }
+
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("HEAD"))
+    private void onGetEntitiesInAABBexcludingStart(Entity entityIn, AxisAlignedBB boundingBox, Predicate<? super Entity> predicate,
+            CallbackInfoReturnable<List<Entity>> cir) {
+        enterQuery();
+    }
+
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("RETURN"))
+    private void onGetEntitiesInAABBexcludingEnd(Entity entityIn, AxisAlignedBB boundingBox, Predicate<? super Entity> predicate,
+            CallbackInfoReturnable<List<Entity>> cir) {
+        exitQuery();
+    }
+
+    @Inject(method = "getEntitiesWithinAABB(Ljava/lang/Class;Lnet/minecraft/util/math/AxisAlignedBB;Lcom/google/common/base/Predicate;)Ljava/util/List;",
+            at = @At("HEAD"))
+    private <T extends Entity> void onGetEntitiesWithinAABBStart(Class<? extends T> clazz, AxisAlignedBB aabb, Predicate<? super T> filter,
+            CallbackInfoReturnable<List<T>> cir) {
+        enterQuery();
+    }
+
+    @Inject(method = "getEntitiesWithinAABB(Ljava/lang/Class;Lnet/minecraft/util/math/AxisAlignedBB;Lcom/google/common/base/Predicate;)Ljava/util/List;",
+            at = @At("RETURN"))
+    private <T extends Entity> void onGetEntitiesWithinAABBEnd(Class<? extends T> clazz, AxisAlignedBB aabb, Predicate<? super T> filter,
+            CallbackInfoReturnable<List<T>> cir) {
+        exitQuery();
+    }
+
+    /**
+     * Resolves the collision cap of the current phase source once per query,
+     * so the chunks of the query only compare against a plain int for every
+     * candidate entity, and exit early once the list is full.
+     */
+    private void enterQuery() {
+        this.enclosingCollisionCaps.add(this.collisionCap);
+        this.collisionCap = resolveCollisionCap();
+    }
+
+    private void exitQuery() {
+        this.collisionCap = this.enclosingCollisionCaps.isEmpty() ? NO_QUERY
+                : this.enclosingCollisionCaps.removeInt(this.enclosingCollisionCaps.size() - 1);
+    }
+
+    private int resolveCollisionCap() {
+        if (!((Object) this instanceof IMixinWorldServer)) {
+            return -1;
+        }
+        final IMixinWorldServer spongeWorld = (IMixinWorldServer) this;
+        if (spongeWorld.isProcessingExplosion()) {
+            // allow explosions
+            return -1;
+        }
+        return EntityCollisionCaps.getCollisionCap(spongeWorld.getCauseTracker().getCurrentContext(), (World) (Object) this);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTrackerEntry;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.entity.EntityTrackerSchedule;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTrackerEntry;
+
+import javax.annotation.Nullable;
+
+@Mixin(EntityTrackerEntry.class)
+public abstract class MixinEntityTrackerEntry_Bucketed_Tracker implements IMixinEntityTrackerEntry {
+
+    @Shadow @Final public Entity trackedEntity;
+    @Shadow @Final private int updateFrequency;
+    @Shadow private long encodedPosX;
+    @Shadow private long encodedPosZ;
+    @Shadow private double lastTrackedEntityPosX;
+    @Shadow private double lastTrackedEntityPosY;
+    @Shadow private double lastTrackedEntityPosZ;
+    @Shadow private boolean updatedPlayerVisibility;
+
+    @Nullable private EntityTrackerSchedule.Node scheduleNode;
+
+    @Nullable
+    @Override
+    public EntityTrackerSchedule.Node getScheduleNode() {
+        return this.scheduleNode;
+    }
+
+    @Override
+    public void setScheduleNode(@Nullable EntityTrackerSchedule.Node node) {
+        this.scheduleNode = node;
+    }
+
+    @Override
+    public int getUpdateFrequency() {
+        return this.updateFrequency;
+    }
+
+    @Override
+    public long getEncodedPosX() {
+        return this.encodedPosX;
+    }
+
+    @Override
+    public long getEncodedPosZ() {
+        return this.encodedPosZ;
+    }
+
+    @Override
+    public boolean needsVisibilityUpdate() {
+        return !this.updatedPlayerVisibility || this.trackedEntity.getDistanceSq(this.lastTrackedEntityPosX, this.lastTrackedEntityPosY,
+                this.lastTrackedEntityPosZ) > 16.0D;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTracker;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.IntHashMap;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.entity.EntityTrackerSchedule;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTracker;
+
+import java.util.List;
+
+@Mixin(EntityTracker.class)
+public abstract class MixinEntityTracker_Bucketed_Tracker implements IMixinEntityTracker {
+
+    @Shadow @Final private WorldServer theWorld;
+    @Shadow public IntHashMap<EntityTrackerEntry> trackedEntityHashTable;
+    @Shadow private int maxTrackingDistanceThreshold;
+
+    private final EntityTrackerSchedule schedule = new EntityTrackerSchedule();
+
+    @Inject(method = "addEntityToTracker(Lnet/minecraft/entity/Entity;IIZ)V", at = @At("RETURN"))
+    private void onAddEntityToTrackerReturn(Entity entityIn, int trackingRange, int updateFrequency, boolean sendVelocityUpdates,
+            CallbackInfo ci) {
+        final EntityTrackerEntry entry = this.trackedEntityHashTable.lookup(entityIn.getEntityId());
+        if (entry != null) {
+            this.schedule.add(entry);
+        }
+    }
+
+    @Inject(method = "untrackEntity", at = @At("HEAD"))
+    private void onUntrackEntityHead(Entity entityIn, CallbackInfo ci) {
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Refused by the tracker itself
+            return;
+        }
+        final EntityTrackerEntry entry = this.trackedEntityHashTable.lookup(entityIn.getEntityId());
+        if (entry != null) {
+            this.schedule.remove(entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Inject(method = "updateTrackedEntities", at = @At("HEAD"), cancellable = true)
+    private void onUpdateTrackedEntities(CallbackInfo ci) {
+        this.schedule.tick((List<EntityPlayer>) (List<?>) this.theWorld.playerEntities, this.maxTrackingDistanceThreshold);
+        ci.cancel();
+    }
+
+    @Override
+    public void markTrackerEntryDirty(Entity entity) {
+        final EntityTrackerEntry entry = this.trackedEntityHashTable.lookup(entity.getEntityId());
+        if (entry != null) {
+            this.schedule.markDirty(entry);
+        }
+    }
+
+    @Override
+    public void checkTrackerEntryAfterTick(Entity entity) {
+        final EntityTrackerEntry entry = this.trackedEntityHashTable.lookup(entity.getEntityId());
+        if (entry != null) {
+            this.schedule.checkAfterTick(entry);
+        }
+    }
+
+}
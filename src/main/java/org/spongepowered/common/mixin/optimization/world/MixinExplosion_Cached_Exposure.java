@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.explosion.ExplosionCache;
+
+import javax.annotation.Nullable;
+
+@Mixin(Explosion.class)
+public abstract class MixinExplosion_Cached_Exposure {
+
+    private static final String WORLD_GET_BLOCK_STATE =
+            "Lnet/minecraft/world/World;getBlockState(Lnet/minecraft/util/math/BlockPos;)Lnet/minecraft/block/state/IBlockState;";
+    private static final String ENTITY_GET_EXPLOSION_RESISTANCE = "Lnet/minecraft/entity/Entity;getExplosionResistance"
+            + "(Lnet/minecraft/world/Explosion;Lnet/minecraft/world/World;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/state/IBlockState;)F";
+    private static final String BLOCK_GET_EXPLOSION_RESISTANCE = "Lnet/minecraft/block/Block;getExplosionResistance(Lnet/minecraft/entity/Entity;)F";
+    private static final String WORLD_GET_BLOCK_DENSITY =
+            "Lnet/minecraft/world/World;getBlockDensity(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/util/math/AxisAlignedBB;)F";
+
+    @Shadow public World worldObj;
+    @Shadow public Entity exploder;
+
+    @Nullable private ExplosionCache explosionCache;
+    @Nullable private BlockPos lastPos;
+    private boolean cacheResistances;
+
+    @Inject(method = "doExplosionA", at = @At("HEAD"))
+    private void onDoExplosionAHead(CallbackInfo ci) {
+        this.explosionCache = this.worldObj instanceof IMixinWorldServer ? ((IMixinWorldServer) this.worldObj).getExplosionCache() : null;
+        // Only vanilla TNT is known not to alter block resistances, other exploders only share the block states
+        this.cacheResistances = this.exploder == null || this.exploder.getClass() == EntityTNTPrimed.class;
+    }
+
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = WORLD_GET_BLOCK_STATE))
+    private IBlockState onGetBlockState(World world, BlockPos pos) {
+        this.lastPos = pos;
+        return this.explosionCache == null ? world.getBlockState(pos) : this.explosionCache.getBlockState(world, pos);
+    }
+
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = ENTITY_GET_EXPLOSION_RESISTANCE))
+    private float onGetEntityExplosionResistance(Entity entity, Explosion explosion, World world, BlockPos pos, IBlockState state) {
+        if (this.explosionCache == null || !this.cacheResistances) {
+            return entity.getExplosionResistance(explosion, world, pos, state);
+        }
+        float resistance = this.explosionCache.getResistance(pos);
+        if (Float.isNaN(resistance)) {
+            resistance = entity.getExplosionResistance(explosion, world, pos, state);
+            this.explosionCache.putResistance(pos, resistance);
+        }
+        return resistance;
+    }
+
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = BLOCK_GET_EXPLOSION_RESISTANCE))
+    private float onGetBlockExplosionResistance(Block block, @Nullable Entity entity) {
+        if (this.explosionCache == null || this.lastPos == null) {
+            return block.getExplosionResistance(entity);
+        }
+        float resistance = this.explosionCache.getResistance(this.lastPos);
+        if (Float.isNaN(resistance)) {
+            resistance = block.getExplosionResistance(entity);
+            this.explosionCache.putResistance(this.lastPos, resistance);
+        }
+        return resistance;
+    }
+
+    @Redirect(method = "doExplosionA", at = @At(value = "INVOKE", target = WORLD_GET_BLOCK_DENSITY))
+    private float onGetBlockDensity(World world, Vec3d origin, AxisAlignedBB boundingBox) {
+        return this.explosionCache == null ? world.getBlockDensity(origin, boundingBox) : this.explosionCache.getExposure(world, origin, boundingBox);
+    }
+
+    @Inject(method = "doExplosionA", at = @At("RETURN"))
+    private void onDoExplosionAReturn(CallbackInfo ci) {
+        this.lastPos = null;
+        this.explosionCache = null;
+    }
+
+}
@@ -107,6 +107,18 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::isInlineBlockPositionChecks)
             .put("org.spongepowered.common.mixin.optimization.world.MixinWorldServer_Lighting_Inline_Valid_BlockPos",
                     (module) -> module.isInlineBlockPositionChecks() && module.useIgnoreUloadedChunkLightingPatch())
+            .put("org.spongepowered.common.mixin.optimization.world.MixinExplosion_Cached_Exposure",
+                    OptimizationCategory::useCachedExplosionExposure)
+            .put("org.spongepowered.common.mixin.optimization.entity.MixinEntityTracker_Bucketed_Tracker",
+                    OptimizationCategory::useBucketedEntityTracker)
+            .put("org.spongepowered.common.mixin.optimization.entity.MixinEntityTrackerEntry_Bucketed_Tracker",
+                    OptimizationCategory::useBucketedEntityTracker)
+            .put("org.spongepowered.common.mixin.optimization.entity.MixinEntity_Bucketed_Tracker",
+                    OptimizationCategory::useBucketedEntityTracker)
+            .put("org.spongepowered.common.mixin.optimization.network.datasync.MixinEntityDataManager_Bucketed_Tracker",
+                    OptimizationCategory::useBucketedEntityTracker)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinWorld_Bucketed_Tracker",
+                    OptimizationCategory::useBucketedEntityTracker)
             .build();
 
 }
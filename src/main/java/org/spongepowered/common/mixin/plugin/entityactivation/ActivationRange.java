@@ -26,6 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.TimingHistory;
 import com.google.common.collect.ImmutableMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityCreature;
@@ -59,12 +60,14 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.WorldConfigSnapshot;
 import org.spongepowered.common.config.category.EntityActivationModCategory;
 import org.spongepowered.common.config.category.EntityActivationRangeCategory;
 import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.interfaces.entity.projectile.IMixinEntityArrow;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.metrics.SpongeMetrics;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
 import java.util.HashMap;
@@ -152,7 +155,6 @@ public static boolean initializeEntityActivationState(Entity entity) {
             return true;
         }
 
-        EntityActivationRangeCategory config = ((IMixinWorldServer) entity.worldObj).getActiveConfig().getConfig().getEntityActivationRange();
         SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
         IModData_Activation spongeEntity = (IModData_Activation) entity;
         if (type == null) {
@@ -160,6 +162,16 @@ public static boolean initializeEntityActivationState(Entity entity) {
         }
 
         byte activationType = spongeEntity.getActivationType();
+        final WorldConfigSnapshot snapshot = ((IMixinWorldServer) entity.worldObj).getConfigSnapshot();
+        final int snapshotRange = snapshot.getActivationRange(type, activationType);
+        if (snapshotRange != WorldConfigSnapshot.UNRESOLVED) {
+            if (snapshotRange != WorldConfigSnapshot.KEEP_RANGE) {
+                spongeEntity.setActivationRange(snapshotRange);
+            }
+            return snapshot.isAlwaysActive(type, activationType);
+        }
+
+        EntityActivationRangeCategory config = ((IMixinWorldServer) entity.worldObj).getActiveConfig().getConfig().getEntityActivationRange();
         EntityActivationModCategory entityMod = config.getModList().get(type.getModId());
         int defaultActivationRange = config.getDefaultRanges().get(activationTypeMappings.get(activationType));
         if (entityMod == null) {
@@ -412,6 +424,10 @@ public static boolean checkIfActive(Entity entity) {
             isActive = false;
         }
 
+        if (isActive) {
+            TimingHistory.activatedEntityTicks++;
+        }
+        SpongeMetrics.onActivationCheck(isActive);
         return isActive;
     }
 
@@ -439,7 +455,13 @@ public static void addEntityToConfig(World world, SpongeEntityType type, byte ac
             // check for activation type overrides
             Integer modActivationRange = entityMod.getDefaultRanges().get(entityType);
             if (modActivationRange == null) {
-                entityMod.getDefaultRanges().put(entityType, activationType == 5 ? 16 : 32);
+                // Populate the range already in use, so entities which resolved
+                // it before the mod was added to the config keep the same range
+                Integer defaultActivationRange = activationCategory.getDefaultRanges().get(entityType);
+                if (defaultActivationRange == null) {
+                    defaultActivationRange = activationType == 5 ? 16 : 32;
+                }
+                entityMod.getDefaultRanges().put(entityType, defaultActivationRange);
                 requiresSave = true;
             } else if (modActivationRange != null) {
                 // check max ranges
@@ -462,7 +484,7 @@ public static void addEntityToConfig(World world, SpongeEntityType type, byte ac
         }
 
         if (requiresSave) {
-            config.save();
+            config.saveLater();
         }
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import net.minecraft.world.World;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+
+public final class EntityCollisionCaps {
+
+    /**
+     * Gets the maximum number of entities the source of the given phase may
+     * collide with, a ticking block or entity, refreshing its cached
+     * collision state when needed.
+     *
+     * @param phaseContext The current phase context
+     * @param world The world the collisions happen in
+     * @return The collision cap, or -1 if there is none
+     */
+    public static int getCollisionCap(PhaseContext phaseContext, World world) {
+        final Object source = phaseContext.getSource(Object.class).orElse(null);
+        final IModData_Collisions modData;
+        if (source instanceof BlockSnapshot) {
+            modData = (IModData_Collisions) ((BlockSnapshot) source).getState().getType();
+        } else if (source instanceof IModData_Collisions) {
+            modData = (IModData_Collisions) source;
+        } else {
+            return -1;
+        }
+        if (modData.requiresCollisionsCacheRefresh()) {
+            modData.initializeCollisionState(world);
+            modData.requiresCollisionsCacheRefresh(false);
+        }
+        return modData.getMaxCollisions() >= 0 ? modData.getMaxCollisions() : -1;
+    }
+
+    private EntityCollisionCaps() {
+    }
+
+}
@@ -30,10 +30,8 @@
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.api.profile.GameProfile;
@@ -115,7 +113,7 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
             }
         }
 
-        if (!SpongeHooks.getActiveConfig((WorldServer) this.worldObj).getConfig().getBlockTracking().getBlockBlacklist().contains(((BlockType) block).getId())) {
+        if (!((IMixinWorldServer) this.worldObj).getConfigSnapshot().isBlockTrackingBlacklisted(block)) {
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, true);
         } else {
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, false);
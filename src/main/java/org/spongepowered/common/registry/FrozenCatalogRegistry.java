@@ -0,0 +1,144 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.registry.CatalogRegistryModule;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable snapshot of a {@link CatalogRegistryModule}, taken once
+ * registration is complete, and again whenever additional registrations
+ * ran afterwards.
+ *
+ * <p>Every catalog type is assigned a dense int id, allowing per type data to
+ * be held in arrays. Types keep their int id in the snapshots replacing this
+ * one, types registered later are given the following ids. Lookups by id return precomputed {@link Optional}s from a map keyed by
+ * the lower cased ids, and only fall back to the module for ids it resolves
+ * differently, such as ids missing their namespace.</p>
+ *
+ * @param <T> The type of catalog type
+ */
+public final class FrozenCatalogRegistry<T extends CatalogType> {
+
+    private final CatalogRegistryModule<T> module;
+    private final ImmutableList<T> all;
+    private final Map<String, Optional<T>> byId;
+    private final Map<String, Optional<T>> aliases = new ConcurrentHashMap<>();
+    private final Reference2IntOpenHashMap<T> ids;
+
+    FrozenCatalogRegistry(CatalogRegistryModule<T> module, @Nullable FrozenCatalogRegistry<T> previous) {
+        this.module = checkNotNull(module, "module");
+        final ImmutableList.Builder<T> all = ImmutableList.builder();
+        this.ids = new Reference2IntOpenHashMap<>();
+        this.ids.defaultReturnValue(-1);
+        if (previous != null) {
+            // Catalog types are never unregistered, so the previous ids stay valid
+            all.addAll(previous.all);
+            this.ids.putAll(previous.ids);
+        }
+        for (T type : module.getAll()) {
+            if (!this.ids.containsKey(type)) {
+                this.ids.put(type, this.ids.size());
+                all.add(type);
+            }
+        }
+        this.all = all.build();
+        this.byId = new HashMap<>(this.all.size() * 2);
+        for (T type : this.all) {
+            this.byId.putIfAbsent(type.getId().toLowerCase(Locale.ENGLISH), Optional.of(type));
+        }
+    }
+
+    public Optional<T> getById(String id) {
+        Optional<T> type = this.byId.get(id);
+        if (type != null) {
+            return type;
+        }
+        final String lowerCaseId = id.toLowerCase(Locale.ENGLISH);
+        type = this.byId.get(lowerCaseId);
+        if (type != null) {
+            return type;
+        }
+        type = this.aliases.get(lowerCaseId);
+        if (type != null) {
+            return type;
+        }
+        type = this.module.getById(lowerCaseId);
+        if (type.isPresent()) {
+            // Only remember the ids that resolve, unknown ids are unbounded
+            this.aliases.put(lowerCaseId, type);
+        }
+        return type;
+    }
+
+    /**
+     * Gets all the catalog types, ordered by their int id.
+     *
+     * @return The catalog types
+     */
+    public Collection<T> getAll() {
+        return this.all;
+    }
+
+    /**
+     * Gets the int id assigned to the given catalog type.
+     *
+     * @param type The catalog type
+     * @return The int id, or -1 if the type was registered after this
+     *     snapshot was taken
+     */
+    public int getIntId(T type) {
+        return this.ids.getInt(type);
+    }
+
+    /**
+     * Gets the catalog type assigned to the given int id.
+     *
+     * @param intId The int id
+     * @return The catalog type
+     * @throws IndexOutOfBoundsException If no type has this id
+     */
+    public T getByIntId(int intId) {
+        return this.all.get(intId);
+    }
+
+    public int size() {
+        return this.all.size();
+    }
+
+}
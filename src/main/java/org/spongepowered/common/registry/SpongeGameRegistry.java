@@ -122,6 +122,8 @@ public final RegistrationPhase getPhase() {
     final Map<Class<? extends RegistryModule>, RegistryModule> classMap = new IdentityHashMap<>();
     private final Map<Class<?>, Supplier<?>> builderSupplierMap = new IdentityHashMap<>();
     private final Set<RegistryModule> registryModules = new HashSet<>();
+    // Replaced rather than mutated, as it is read without synchronization once loaded
+    private volatile Map<Class<? extends CatalogType>, FrozenCatalogRegistry<?>> frozenRegistries = Collections.emptyMap();
 
     public SpongeGameRegistry() {
     }
@@ -217,9 +219,30 @@ public <TUnknown, T extends CatalogType> T getTranslated(Class<TUnknown> clazz,
         return classModule.getForClass(clazz);
     }
 
+    /**
+     * Gets the frozen snapshot of the {@link CatalogRegistryModule} for the
+     * desired {@link CatalogType} class. Snapshots only exist once the
+     * registry is {@link RegistrationPhase#LOADED loaded}, and only for the
+     * modules which do not accept additional catalog types. A new snapshot
+     * replaces the current one after each later additional registration, so
+     * callers should not hold on to the returned one.
+     *
+     * @param catalogClass The catalog class
+     * @param <T> The type of catalog type
+     * @return The frozen registry
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CatalogType> Optional<FrozenCatalogRegistry<T>> getFrozenRegistry(Class<T> catalogClass) {
+        return Optional.ofNullable((FrozenCatalogRegistry<T>) this.frozenRegistries.get(checkNotNull(catalogClass)));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T extends CatalogType> Optional<T> getType(Class<T> typeClass, String id) {
+        final FrozenCatalogRegistry<T> frozenRegistry = (FrozenCatalogRegistry<T>) this.frozenRegistries.get(typeClass);
+        if (frozenRegistry != null) {
+            return frozenRegistry.getById(id);
+        }
         CatalogRegistryModule<T> registryModule = getRegistryModuleFor(typeClass).orElse(null);
         if (registryModule == null) {
             return Optional.empty();
@@ -231,6 +254,10 @@ public <T extends CatalogType> Optional<T> getType(Class<T> typeClass, String id
     @SuppressWarnings("unchecked")
     @Override
     public <T extends CatalogType> Collection<T> getAllOf(Class<T> typeClass) {
+        final FrozenCatalogRegistry<T> frozenRegistry = (FrozenCatalogRegistry<T>) this.frozenRegistries.get(typeClass);
+        if (frozenRegistry != null) {
+            return frozenRegistry.getAll();
+        }
         CatalogRegistryModule<T> registryModule = getRegistryModuleFor(typeClass).orElse(null);
         if (registryModule == null) {
             return Collections.emptyList();
@@ -247,7 +274,7 @@ public <T extends CatalogType> Collection<T> getAllFor(String pluginId, Class<T>
             return Collections.emptyList();
         } else {
             ImmutableList.Builder<T> builder = ImmutableList.builder();
-            registryModule.getAll()
+            getAllOf(typeClass)
                     .stream()
                     .filter(type -> pluginId.equals(type.getId().split(":")[0]))
                     .forEach(builder::add);
@@ -461,10 +488,35 @@ public void postInit() {
         registerModulePhase();
         SpongePropertyRegistry.completeRegistration();
         SpongeDataManager.finalizeRegistration();
+        freezeRegistries();
         this.phase = RegistrationPhase.LOADED;
     }
 
+    /**
+     * Takes a {@link FrozenCatalogRegistry} snapshot of every catalog module
+     * which cannot receive additional catalog types. The others keep being
+     * queried directly, since plugins and Sponge itself, for example when a
+     * mod creates a new dimension type, may add to them at any time. Called
+     * again after every later additional registration phase, which may add
+     * types such as mod biomes to the frozen modules.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void freezeRegistries() {
+        final Map<Class<? extends CatalogType>, FrozenCatalogRegistry<?>> frozenRegistries = new IdentityHashMap<>();
+        for (Map.Entry<Class<? extends CatalogType>, CatalogRegistryModule<?>> entry : this.catalogRegistryMap.entrySet()) {
+            final CatalogRegistryModule<?> module = entry.getValue();
+            if (module instanceof AdditionalCatalogRegistryModule) {
+                continue;
+            }
+            frozenRegistries.put(entry.getKey(), new FrozenCatalogRegistry(module, this.frozenRegistries.get(entry.getKey())));
+        }
+        this.frozenRegistries = frozenRegistries;
+    }
+
     public void registerAdditionals() {
         registerAdditionalPhase();
+        if (this.phase == RegistrationPhase.LOADED) {
+            freezeRegistries();
+        }
     }
 }
@@ -36,9 +36,12 @@
 import java.util.Map;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public final class BlockStateRegistryModule implements CatalogRegistryModule<BlockState> {
 
     private final Map<String, BlockState> blockStateMap = new LinkedHashMap<>();
+    @Nullable private ImmutableList<BlockState> blockStates;
 
     public static BlockStateRegistryModule getInstance() {
         return Holder.INSTANCE;
@@ -46,18 +49,29 @@ public static BlockStateRegistryModule getInstance() {
 
     @Override
     public Optional<BlockState> getById(String id) {
-        return Optional.ofNullable(this.blockStateMap.get(checkNotNull(id, "Id cannot be null!").toLowerCase(Locale.ENGLISH)));
+        // Most ids are already lower case, avoid creating a new string for them
+        final BlockState blockState = this.blockStateMap.get(checkNotNull(id, "Id cannot be null!"));
+        if (blockState != null) {
+            return Optional.of(blockState);
+        }
+        return Optional.ofNullable(this.blockStateMap.get(id.toLowerCase(Locale.ENGLISH)));
     }
 
     @Override
     public Collection<BlockState> getAll() {
-        return ImmutableList.copyOf(this.blockStateMap.values());
+        ImmutableList<BlockState> blockStates = this.blockStates;
+        if (blockStates == null) {
+            this.blockStates = blockStates = ImmutableList.copyOf(this.blockStateMap.values());
+        }
+        return blockStates;
     }
 
     void registerBlockState(BlockState blockState) {
         checkNotNull(blockState, "BlockState cannot be null!");
-        if (!this.blockStateMap.containsKey(blockState.getId().toLowerCase(Locale.ENGLISH))) {
-            this.blockStateMap.put(blockState.getId().toLowerCase(Locale.ENGLISH), blockState);
+        final String id = blockState.getId().toLowerCase(Locale.ENGLISH);
+        if (!this.blockStateMap.containsKey(id)) {
+            this.blockStateMap.put(id, blockState);
+            this.blockStates = null;
         }
     }
 
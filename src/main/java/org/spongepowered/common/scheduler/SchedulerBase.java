@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.scheduler;
 
+import co.aikar.timings.SpongeTimings;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -89,6 +90,15 @@ protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
 
+    /**
+     * Gets the number of pending and running tasks without copying them.
+     *
+     * @return The number of tasks
+     */
+    protected int getTaskCount() {
+        return this.taskMap.size();
+    }
+
     protected Set<Task> getScheduledTasks() {
         synchronized (this.taskMap) {
             return Sets.<Task>newHashSet(this.taskMap.values());
@@ -155,9 +165,10 @@ protected void processTask(ScheduledTask task) {
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
         if (threshold <= (now - task.getTimestamp())) {
+            final long due = task.getTimestamp() + threshold;
             task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
             task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
+            startTask(task, due);
             // If task is one time shot, remove it from the map.
             if (task.period == 0L) {
                 this.removeTask(task);
@@ -169,15 +180,24 @@ protected void processTask(ScheduledTask task) {
      * Begin the execution of a task. Exceptions are caught and logged.
      *
      * @param task The task to start
+     * @param due The timestamp the task was due to start at, as returned by
+     *     {@link #getTimestamp(ScheduledTask)}
      */
-    protected void startTask(final ScheduledTask task) {
+    protected void startTask(final ScheduledTask task, final long due) {
         this.executeTaskRunnable(() -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            final long started = System.nanoTime();
             try {
                 task.getConsumer().accept(task);
             } catch (Throwable t) {
                 SpongeImpl.getLogger().error("The Scheduler tried to run the task {} owned by {}, but an error occured.", task.getName(),
                                              task.getOwner(), t);
+            } finally {
+                if (task.isAsynchronous()) {
+                    // Asynchronous timestamps are nano times, so the queue time
+                    // includes any delay of the scheduler noticing the task is due
+                    SpongeTimings.recordAsyncTask(task.getOwner(), Math.max(0, started - due), System.nanoTime() - started);
+                }
             }
         });
     }
@@ -131,6 +131,16 @@ public Set<Task> getScheduledTasks(Object plugin) {
         return allTasks;
     }
 
+    /**
+     * Gets the number of pending and running tasks of one of the schedulers.
+     *
+     * @param async Whether to count the asynchronous scheduler's tasks
+     * @return The number of tasks
+     */
+    public int getTaskCount(boolean async) {
+        return async ? this.asyncScheduler.getTaskCount() : this.syncScheduler.getTaskCount();
+    }
+
     @Override
     public int getPreferredTickInterval() {
         return TICK_DURATION_MS;
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.ban;
+
+import org.spongepowered.api.util.ban.Ban;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * The entry map of a vanilla ban list, keyed by the object key of each entry
+ * like the map it replaces, which also keeps the bans with an expiration
+ * date in a queue ordered by that date.
+ *
+ * <p>Removing the expired bans only looks at the head of the queue, instead
+ * of checking every entry of the list. Bans removed from the map by other
+ * means are left in the queue and skipped once they reach its head.</p>
+ *
+ * @param <V> The type of the entries
+ */
+public final class BanEntryMap<V> extends HashMap<String, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>();
+
+    @Nullable
+    @Override
+    public V put(String key, V value) {
+        final V previous = super.put(key, value);
+        if (value instanceof Ban) {
+            final Optional<Instant> expirationDate = ((Ban) value).getExpirationDate();
+            if (expirationDate.isPresent()) {
+                this.expiries.add(new Expiry(key, value, expirationDate.get().toEpochMilli()));
+                if (this.expiries.size() > 2 * size() + 16) {
+                    compactExpiries();
+                }
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> map) {
+        for (Map.Entry<? extends String, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.expiries.clear();
+    }
+
+    /**
+     * Removes the bans whose expiration date has passed.
+     *
+     * @return Whether any ban was removed
+     */
+    public boolean removeExpired() {
+        final long now = System.currentTimeMillis();
+        boolean removed = false;
+        Expiry expiry;
+        while ((expiry = this.expiries.peek()) != null && expiry.time < now) {
+            this.expiries.poll();
+            if (get(expiry.key) == expiry.value) {
+                super.remove(expiry.key);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private void compactExpiries() {
+        this.expiries.removeIf(expiry -> get(expiry.key) != expiry.value);
+    }
+
+    private static final class Expiry implements Comparable<Expiry> {
+
+        final String key;
+        final Object value;
+        final long time;
+
+        Expiry(String key, Object value, long time) {
+            this.key = key;
+            this.value = value;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(this.time, other.time);
+        }
+    }
+
+}
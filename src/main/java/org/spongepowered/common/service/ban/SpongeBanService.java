@@ -43,6 +43,7 @@
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 /**
@@ -54,30 +55,64 @@
  * function normally when the default {@link BanService} has not been replaced,
  * while allowing plugin-provided {@link BanService}s to be used for all aspects
  * of Vanilla bans.</p>
+ *
+ * <p>The Vanilla lists keep their bans in a {@link BanEntryMap}, so that
+ * removing expired bans before each lookup only checks the bans whose
+ * expiration date has passed.</p>
  */
 public class SpongeBanService implements BanService {
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban> getBans() {
-        Collection<? extends Ban> bans = this.getProfileBans();
-        bans.addAll((Collection) this.getIpBans());
+        Collection<Ban.Profile> profileBans = this.getProfileBansView();
+        Collection<Ban.Ip> ipBans = this.getIpBansView();
+        Collection<Ban> bans = new ArrayList<>(profileBans.size() + ipBans.size());
+        bans.addAll(profileBans);
+        bans.addAll(ipBans);
 
-        return (Collection<Ban>) bans;
+        return bans;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Profile> getProfileBans() {
-        this.getUserBanList().removeExpired();
-        return new ArrayList<>((Collection<Ban.Profile>) (Object) this.getUserBanList().getValues().values());
+        return new ArrayList<>(this.getProfileBansView());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Ip> getIpBans() {
+        return new ArrayList<>(this.getIpBansView());
+    }
+
+    /**
+     * Gets an unmodifiable view of all active profile bans, which unlike
+     * {@link #getProfileBans()} is not copied and reflects later changes.
+     *
+     * <p>Not part of {@link BanService}: only available while this
+     * implementation is the registered service, so callers must check for it
+     * and fall back to {@link #getProfileBans()} otherwise.</p>
+     *
+     * @return A view of all active profile bans
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<Ban.Profile> getProfileBansView() {
+        this.getUserBanList().removeExpired();
+        return Collections.unmodifiableCollection((Collection<Ban.Profile>) (Object) this.getUserBanList().getValues().values());
+    }
+
+    /**
+     * Gets an unmodifiable view of all active IP bans, which unlike
+     * {@link #getIpBans()} is not copied and reflects later changes.
+     *
+     * <p>Not part of {@link BanService}: only available while this
+     * implementation is the registered service, so callers must check for it
+     * and fall back to {@link #getIpBans()} otherwise.</p>
+     *
+     * @return A view of all active IP bans
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<Ban.Ip> getIpBansView() {
         this.getIPBanList().removeExpired();
-        return new ArrayList<>((Collection<Ban.Ip>) (Object) this.getIPBanList().getValues().values());
+        return Collections.unmodifiableCollection((Collection<Ban.Ip>) (Object) this.getIPBanList().getValues().values());
     }
 
     @Override
@@ -30,7 +30,6 @@
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.world.Locatable;
 import org.spongepowered.api.command.source.RemoteSource;
@@ -39,14 +38,20 @@
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.type.GlobalConfig;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
 /**
  * A context calculator handling world contexts.
+ *
+ * <p>The contexts of a remote source only depend on its connection, so they
+ * are computed once per source, matching the configured ip sets through
+ * {@link GlobalConfig#getIpSetTrie()}.</p>
  */
 public class SpongeContextCalculator implements ContextCalculator<Subject> {
     private final LoadingCache<RemoteSource, Set<Context>> remoteIpCache = buildAddressCache(Context.REMOTE_IP_KEY,
@@ -55,6 +60,17 @@ public class SpongeContextCalculator implements ContextCalculator<Subject> {
     private final LoadingCache<RemoteSource, Set<Context>> localIpCache = buildAddressCache(Context.LOCAL_IP_KEY,
                                                                                             input -> input.getConnection().getVirtualHost().getAddress());
 
+    private final LoadingCache<RemoteSource, Set<Context>> virtualHostCache = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(new CacheLoader<RemoteSource, Set<Context>>() {
+            @Override
+            public Set<Context> load(RemoteSource key) throws Exception {
+                final InetSocketAddress virtualHost = key.getConnection().getVirtualHost();
+                return ImmutableSet.of(new Context(Context.LOCAL_PORT_KEY, String.valueOf(virtualHost.getPort())),
+                                       new Context(Context.LOCAL_HOST_KEY, virtualHost.getHostName()));
+            }
+        });
+
     private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String contextKey, final Function<RemoteSource, InetAddress> function) {
         return CacheBuilder.newBuilder()
             .weakKeys()
@@ -64,9 +80,7 @@ public Set<Context> load(RemoteSource key) throws Exception {
                     ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
                     final InetAddress addr = checkNotNull(function.apply(key), "addr");
                     builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfig().getConfig().getIpSets(), input -> {
-                        return input.apply(addr);
-                    }).keySet()) {
+                    for (String set : SpongeImpl.getGlobalConfig().getConfig().getIpSetTrie().match(addr)) {
                         builder.add(new Context(contextKey, set));
                     }
                     return builder.build();
@@ -88,8 +102,7 @@ public void accumulateContexts(Subject subject, Set<Context> accumulator) {
                 RemoteSource rem = (RemoteSource) source;
                 accumulator.addAll(this.remoteIpCache.getUnchecked(rem));
                 accumulator.addAll(this.localIpCache.getUnchecked(rem));
-                accumulator.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(rem.getConnection().getVirtualHost().getPort())));
-                accumulator.add(new Context(Context.LOCAL_HOST_KEY, rem.getConnection().getVirtualHost().getHostName()));
+                accumulator.addAll(this.virtualHostCache.getUnchecked(rem));
             }
         }
 
@@ -110,10 +123,8 @@ public boolean matches(Context context, Subject subject) {
             }
             if (source instanceof RemoteSource) {
                 RemoteSource remote = (RemoteSource) source;
-                if (context.getType().equals(Context.LOCAL_HOST_KEY)) {
-                    return context.getValue().equals(remote.getConnection().getVirtualHost().getHostName());
-                } else if (context.getType().equals(Context.LOCAL_PORT_KEY)) {
-                    return context.getValue().equals(String.valueOf(remote.getConnection().getVirtualHost().getPort()));
+                if (context.getType().equals(Context.LOCAL_HOST_KEY) || context.getType().equals(Context.LOCAL_PORT_KEY)) {
+                    return this.virtualHostCache.getUnchecked(remote).contains(context);
                 } else if (context.getType().equals(Context.LOCAL_IP_KEY)) {
                     return this.localIpCache.getUnchecked(remote).contains(context);
                 } else if (context.getType().equals(Context.REMOTE_IP_KEY)) {
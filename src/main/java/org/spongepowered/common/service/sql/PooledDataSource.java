@@ -0,0 +1,197 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+/**
+ * A {@link DataSource} handed out by {@link SqlServiceImpl}, backed by a
+ * Hikari connection pool that is opened when a connection is requested and
+ * may be closed again by {@link #closeIfIdle} once it has not lent a
+ * connection for a while.
+ *
+ * <p>Unwrapping this data source exposes the pool itself, which is then
+ * never closed for being idle.</p>
+ */
+@NonnullByDefault
+public final class PooledDataSource implements DataSource, Closeable {
+
+    private final String name;
+    private final Supplier<HikariConfig> config;
+    @Nullable private volatile HikariDataSource dataSource;
+    private volatile long lastUsed = System.nanoTime();
+    private volatile boolean pinned;
+
+    PooledDataSource(String name, Supplier<HikariConfig> config) {
+        this.name = name;
+        this.config = config;
+    }
+
+    /**
+     * Gets the name of this data source, its JDBC url without any
+     * authentication information.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public boolean isOpen() {
+        return this.dataSource != null;
+    }
+
+    private synchronized HikariDataSource open() {
+        this.lastUsed = System.nanoTime();
+        HikariDataSource dataSource = this.dataSource;
+        if (dataSource == null) {
+            dataSource = new HikariDataSource(this.config.get());
+            this.dataSource = dataSource;
+        }
+        return dataSource;
+    }
+
+    /**
+     * Closes the pool if none of its connections are lent out and it has not
+     * lent a connection for the given time.
+     *
+     * @param now The current {@link System#nanoTime()}
+     * @param timeout The time in nanoseconds the pool may be idle for
+     * @return Whether the pool was closed
+     */
+    public synchronized boolean closeIfIdle(long now, long timeout) {
+        final HikariDataSource dataSource = this.dataSource;
+        if (dataSource == null || this.pinned || now - this.lastUsed < timeout) {
+            return false;
+        }
+        final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null && (pool.getActiveConnections() > 0 || pool.getThreadsAwaitingConnection() > 0)) {
+            return false;
+        }
+        this.dataSource = null;
+        dataSource.close();
+        return true;
+    }
+
+    public int getActiveConnections() {
+        final HikariPoolMXBean pool = getPool();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        final HikariPoolMXBean pool = getPool();
+        return pool == null ? 0 : pool.getIdleConnections();
+    }
+
+    public int getTotalConnections() {
+        final HikariPoolMXBean pool = getPool();
+        return pool == null ? 0 : pool.getTotalConnections();
+    }
+
+    public int getThreadsAwaitingConnection() {
+        final HikariPoolMXBean pool = getPool();
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+
+    @Nullable
+    private HikariPoolMXBean getPool() {
+        final HikariDataSource dataSource = this.dataSource;
+        return dataSource == null ? null : dataSource.getHikariPoolMXBean();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return open().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return open().getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return open().getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        open().setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        open().setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return open().getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        this.pinned = true;
+        return open().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || open().isWrapperFor(iface);
+    }
+
+    @Override
+    public synchronized void close() {
+        final HikariDataSource dataSource = this.dataSource;
+        if (dataSource != null) {
+            this.dataSource = null;
+            dataSource.close();
+        }
+    }
+
+}
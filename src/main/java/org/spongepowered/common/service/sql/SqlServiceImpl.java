@@ -31,8 +31,9 @@
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import org.h2.engine.ConnectionInfo;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -41,18 +42,31 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.SpongeConfigManager;
 import org.spongepowered.common.config.SpongeConfigRoot;
+import org.spongepowered.common.config.category.SqlCategory;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -60,7 +74,6 @@
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
 
-
 /**
  * Implementation of a SQL-using service.
  *
@@ -69,15 +82,18 @@
  *     - It allows applying additional driver-specific connection
  *     properties -- this allows us to do some light performance tuning in
  *     cases where we don't want to be as conservative as the driver developers
- *     - Caches DataSources. This cache is currently never cleared of stale entries
- *     -- if some plugin makes database connections to a ton of different databases
- *     we may want to implement this, but it is kinda unimportant.
+ *     - Caches DataSources. The pool behind a DataSource is closed once it has
+ *     been idle for the configured time, and reopened when it is used again
+ *     - Runs queries on a bounded async executor, completing their futures
+ *     back on the main thread
  */
 @NonnullByDefault
 public class SqlServiceImpl implements SqlService, Closeable {
 
     static final Map<String, Properties> PROTOCOL_SPECIFIC_PROPS;
     static final Map<String, BiFunction<PluginContainer, String, String>> PATH_CANONICALIZERS;
+    // Drivers caching prepared statements per connection when asked to
+    static final Set<String> STATEMENT_CACHING_DRIVERS = ImmutableSet.of("com.mysql.jdbc.Driver", "org.mariadb.jdbc.Driver");
 
     static {
         ImmutableMap.Builder<String, Properties> build = ImmutableMap.builder();
@@ -107,33 +123,84 @@ public class SqlServiceImpl implements SqlService, Closeable {
         });
     }
 
-    private final LoadingCache<ConnectionInfo, HikariDataSource> connectionCache =
-            CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, HikariDataSource>() {
+    private final Supplier<SqlCategory> config;
+    private final Executor mainThreadExecutor;
+    private final AtomicInteger pendingQueries = new AtomicInteger();
+    @Nullable private ScheduledExecutorService executor;
+
+    private final LoadingCache<ConnectionInfo, PooledDataSource> connectionCache =
+            CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, PooledDataSource>() {
                 @Override
-                public void onRemoval(RemovalNotification<ConnectionInfo, HikariDataSource> notification) {
-                    HikariDataSource source = notification.getValue();
+                public void onRemoval(RemovalNotification<ConnectionInfo, PooledDataSource> notification) {
+                    PooledDataSource source = notification.getValue();
                     if (source != null) {
                         source.close();
                     }
                 }
-            }).build(new CacheLoader<ConnectionInfo, HikariDataSource>() {
+            }).build(new CacheLoader<ConnectionInfo, PooledDataSource>() {
                 @Override
-                public HikariDataSource load(@Nonnull ConnectionInfo key) throws Exception {
-                    HikariConfig config = new HikariConfig();
-                    config.setUsername(key.getUser());
-                    config.setPassword(key.getPassword());
-                    config.setDriverClassName(key.getDriverClassName());
-                    // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
-                    config.setMaximumPoolSize((Runtime.getRuntime().availableProcessors() * 2) + 1);
-                    Properties driverSpecificProperties = PROTOCOL_SPECIFIC_PROPS.get(key.getDriverClassName());
-                    if (driverSpecificProperties != null) {
-                        config.setDataSourceProperties(driverSpecificProperties);
-                    }
-                    config.setJdbcUrl(key.getAuthlessUrl());
-                    return new HikariDataSource(config);
+                public PooledDataSource load(@Nonnull ConnectionInfo key) throws Exception {
+                    getExecutor(); // Starts the idle pool sweep
+                    return new PooledDataSource(key.getAuthlessUrl(), () -> createConfig(key));
                 }
             });
 
+    public SqlServiceImpl() {
+        this(() -> SpongeImpl.getGlobalConfig().getConfig().getSql(),
+                task -> SpongeImpl.getGame().getScheduler().createTaskBuilder().execute(task).submit(SpongeImpl.getPlugin()));
+    }
+
+    /**
+     * Creates a new SQL service.
+     *
+     * @param config The supplier of the current SQL configuration
+     * @param mainThreadExecutor The executor completing the futures of async
+     *     queries on the main thread
+     */
+    SqlServiceImpl(Supplier<SqlCategory> config, Executor mainThreadExecutor) {
+        this.config = config;
+        this.mainThreadExecutor = mainThreadExecutor;
+    }
+
+    private HikariConfig createConfig(ConnectionInfo key) {
+        HikariConfig config = new HikariConfig();
+        config.setUsername(key.getUser());
+        config.setPassword(key.getPassword());
+        config.setDriverClassName(key.getDriverClassName());
+        // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
+        config.setMaximumPoolSize((Runtime.getRuntime().availableProcessors() * 2) + 1);
+        Properties driverSpecificProperties = PROTOCOL_SPECIFIC_PROPS.get(key.getDriverClassName());
+        if (driverSpecificProperties != null) {
+            Properties properties = new Properties();
+            properties.putAll(driverSpecificProperties);
+            if (STATEMENT_CACHING_DRIVERS.contains(key.getDriverClassName())) {
+                int cacheSize = this.config.get().getPreparedStatementCacheSize();
+                properties.setProperty("cachePrepStmts", String.valueOf(cacheSize > 0));
+                properties.setProperty("prepStmtCacheSize", String.valueOf(cacheSize));
+                properties.setProperty("prepStmtCacheSqlLimit", "2048");
+            }
+            config.setDataSourceProperties(properties);
+        }
+        config.setJdbcUrl(key.getAuthlessUrl());
+        return config;
+    }
+
+    private synchronized ScheduledExecutorService getExecutor() {
+        if (this.executor == null) {
+            SqlCategory config = this.config.get();
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(config.getAsyncThreads(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge SQL Executor #%d").setDaemon(true).build());
+            executor.setRemoveOnCancelPolicy(true);
+            int idleTimeout = config.getIdlePoolTimeout();
+            if (idleTimeout > 0) {
+                long period = Math.max(1, TimeUnit.MINUTES.toSeconds(idleTimeout) / 4);
+                executor.scheduleWithFixedDelay(() -> closeIdleDataSources(TimeUnit.MINUTES.toNanos(idleTimeout)), period, period, TimeUnit.SECONDS);
+            }
+            this.executor = executor;
+        }
+        return this.executor;
+    }
+
     @Override
     public DataSource getDataSource(String jdbcConnection) throws SQLException {
         return getDataSource(null, jdbcConnection);
@@ -159,9 +226,93 @@ public DataSource getDataSource(@Nullable Object plugin, String jdbcConnection)
         }
     }
 
+    /**
+     * Runs a query on the async query executor with a connection borrowed
+     * from the given data source, and completes the returned future with its
+     * result on the main thread.
+     *
+     * <p>At most {@link SqlCategory#getAsyncQueueSize()} queries wait for an
+     * executor thread at a time, further queries fail with a
+     * {@link RejectedExecutionException}.</p>
+     *
+     * <p>Not part of {@link SqlService}: only available while this
+     * implementation is the registered service, so callers must check for it
+     * and run their queries on their own executor otherwise.</p>
+     *
+     * @param dataSource The data source to borrow the connection from
+     * @param query The query to run
+     * @param <T> The type of the result
+     * @return The future result of the query
+     */
+    public <T> CompletableFuture<T> executeAsync(DataSource dataSource, SqlFunction<T> query) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ScheduledExecutorService executor = getExecutor();
+        SqlCategory config = this.config.get();
+        if (this.pendingQueries.incrementAndGet() > config.getAsyncThreads() + config.getAsyncQueueSize()) {
+            this.pendingQueries.decrementAndGet();
+            future.completeExceptionally(new RejectedExecutionException("The async query queue is full"));
+            return future;
+        }
+        try {
+            executor.execute(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    T result = query.apply(connection);
+                    this.mainThreadExecutor.execute(() -> future.complete(result));
+                } catch (Throwable t) {
+                    this.mainThreadExecutor.execute(() -> future.completeExceptionally(t));
+                } finally {
+                    this.pendingQueries.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) { // The service was closed
+            this.pendingQueries.decrementAndGet();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Gets the number of async queries that are queued or running.
+     *
+     * @return The number of pending async queries
+     */
+    public int getPendingQueries() {
+        return this.pendingQueries.get();
+    }
+
+    /**
+     * Gets all data sources handed out by this service. Like
+     * {@link #executeAsync}, this is not part of {@link SqlService}.
+     *
+     * @return The data sources
+     */
+    public Collection<PooledDataSource> getDataSources() {
+        return Collections.unmodifiableCollection(this.connectionCache.asMap().values());
+    }
+
+    /**
+     * Closes the pools that have not lent a connection for the given time.
+     *
+     * @param timeout The time in nanoseconds a pool may be idle for
+     */
+    public void closeIdleDataSources(long timeout) {
+        long now = System.nanoTime();
+        for (PooledDataSource dataSource : this.connectionCache.asMap().values()) {
+            if (dataSource.closeIfIdle(now, timeout)) {
+                SpongeImpl.getLogger().debug("Closed idle connection pool for {}", dataSource.getName());
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
         this.connectionCache.invalidateAll();
+        synchronized (this) {
+            if (this.executor != null) {
+                this.executor.shutdown();
+                this.executor = null;
+            }
+        }
     }
 
     public static class ConnectionInfo {
@@ -211,7 +362,6 @@ public String getFullUrl() {
             return this.fullUrl;
         }
 
-
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -265,7 +415,7 @@ public static ConnectionInfo fromUrl(@Nullable PluginContainer container, String
 
     @Override
     public Optional<String> getConnectionUrlFromAlias(String alias) {
-        return Optional.ofNullable(SpongeImpl.getGlobalConfig().getConfig().getSql().getAliases().get(alias));
+        return Optional.ofNullable(this.config.get().getAliases().get(alias));
     }
 
 }
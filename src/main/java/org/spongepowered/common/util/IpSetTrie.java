@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named {@link IpSet} lists compiled into a binary prefix trie per address
+ * length, so that the names of every list matching an address are found in
+ * a single walk over the bits of the address.
+ *
+ * <p>A list matches an address when all of its sets contain the address, as
+ * with the {@link com.google.common.base.Predicates#and} predicates of
+ * {@code GlobalConfig#getIpSets()}.</p>
+ */
+public final class IpSetTrie {
+
+    private final Node ipv4 = new Node();
+    private final Node ipv6 = new Node();
+    // The number of sets of each list, for the lists with more than one set
+    private final Map<String, Integer> required = new HashMap<>();
+    private final ImmutableSet<String> matchAll;
+
+    public IpSetTrie(Map<String, ? extends Collection<IpSet>> lists) {
+        final ImmutableSet.Builder<String> matchAll = ImmutableSet.builder();
+        for (Map.Entry<String, ? extends Collection<IpSet>> entry : lists.entrySet()) {
+            final Collection<IpSet> sets = entry.getValue();
+            if (sets.isEmpty()) {
+                matchAll.add(entry.getKey());
+                continue;
+            }
+            if (sets.size() > 1) {
+                this.required.put(entry.getKey(), sets.size());
+            }
+            for (IpSet set : sets) {
+                insert(set, entry.getKey());
+            }
+        }
+        this.matchAll = matchAll.build();
+    }
+
+    private void insert(IpSet set, String name) {
+        final byte[] address = set.getAddress().getAddress();
+        Node node = address.length == 4 ? this.ipv4 : this.ipv6;
+        for (int i = 0; i < set.getPrefixLength(); i++) {
+            final int bit = (address[i >> 3] >> (7 - (i & 7))) & 1;
+            if (node.children[bit] == null) {
+                node.children[bit] = new Node();
+            }
+            node = node.children[bit];
+        }
+        node.names.add(name);
+    }
+
+    /**
+     * Gets the names of all lists matching the given address.
+     *
+     * @param input The address
+     * @return The names of the matching lists
+     */
+    public Set<String> match(InetAddress input) {
+        final byte[] address = input.getAddress();
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        builder.addAll(this.matchAll);
+        Map<String, Integer> counts = null;
+        Node node = address.length == 4 ? this.ipv4 : address.length == 16 ? this.ipv6 : null;
+        for (int i = 0; node != null; i++) {
+            for (String name : node.names) {
+                final Integer required = this.required.get(name);
+                if (required == null) {
+                    builder.add(name);
+                } else {
+                    if (counts == null) {
+                        counts = new HashMap<>();
+                    }
+                    if (counts.merge(name, 1, Integer::sum).equals(required)) {
+                        builder.add(name);
+                    }
+                }
+            }
+            if (i == address.length << 3) {
+                break;
+            }
+            node = node.children[(address[i >> 3] >> (7 - (i & 7))) & 1];
+        }
+        return builder.build();
+    }
+
+    private static final class Node {
+
+        final Node[] children = new Node[2];
+        final List<String> names = new ArrayList<>(0);
+
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import net.minecraft.block.material.Material;
+
+import javax.annotation.Nullable;
+
+/**
+ * Finds the closest safe location within a box, for the teleport helper.
+ *
+ * <p>Candidates are generated in order of increasing distance from the
+ * centre, ties going to the lowest x, then y, then z, without materializing
+ * or sorting the box: every (x, y) column of the box is a row whose z
+ * offsets are walked outwards from the centre, and the rows are merged by a
+ * heap keyed on the distance of their next candidate. The search stops at
+ * the first safe candidate, and block flags are cached by packed position.</p>
+ */
+abstract class SafeLocationSearch {
+
+    static final byte SAFE_BODY = 1;
+    static final byte SAFE_FLOOR = 2;
+    private static final byte UNKNOWN = -1;
+    private static final int END = Integer.MIN_VALUE;
+
+    private final Long2ByteOpenHashMap cache = new Long2ByteOpenHashMap();
+
+    SafeLocationSearch() {
+        this.cache.defaultReturnValue(UNKNOWN);
+    }
+
+    /**
+     * Reads the safety flags of a block, uncached.
+     *
+     * @param x The x position
+     * @param y The y position
+     * @param z The z position
+     * @return The flags of the block
+     */
+    protected abstract byte readFlags(int x, int y, int z);
+
+    static byte flagsOf(@Nullable Material material) {
+        // A null material just indicates that we want nothing to be marked as safe.
+        if (material == null) {
+            return 0;
+        }
+        byte flags = 0;
+        if (material == Material.AIR || material == Material.PLANTS || material == Material.WATER || material == Material.REDSTONE_LIGHT
+                || material == Material.CIRCUITS || material == Material.SNOW || material == Material.PORTAL || material == Material.WEB
+                || material == Material.VINE) {
+            flags |= SAFE_BODY;
+        }
+        if (!(material == Material.AIR || material == Material.CACTUS || material == Material.FIRE || material == Material.LAVA)) {
+            flags |= SAFE_FLOOR;
+        }
+        return flags;
+    }
+
+    @Nullable
+    Vector3i find(Vector3i centre, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            return null;
+        }
+        final int centreX = centre.getX();
+        final int centreY = centre.getY();
+        final int centreZ = centre.getZ();
+        final int loZ = minZ - centreZ;
+        final int hiZ = maxZ - centreZ;
+        final int firstZ = loZ <= 0 && 0 <= hiZ ? 0 : nextOffset(0, loZ, hiZ);
+        final int sizeY = maxY - minY + 1;
+        final int rows = (maxX - minX + 1) * sizeY;
+
+        final int[] rowX = new int[rows];
+        final int[] rowY = new int[rows];
+        final int[] rowZ = new int[rows];
+        final long[] rowDistance = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            rowX[i] = minX - centreX + i / sizeY;
+            rowY[i] = minY - centreY + i % sizeY;
+            rowZ[i] = firstZ;
+            rowDistance[i] = distance(rowX[i], rowY[i], firstZ);
+        }
+        final int[] heap = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            heap[i] = i;
+        }
+        int size = rows;
+        for (int i = (size >> 1) - 1; i >= 0; i--) {
+            siftDown(heap, i, size, rowX, rowY, rowZ, rowDistance);
+        }
+
+        while (size > 0) {
+            final int row = heap[0];
+            final int x = centreX + rowX[row];
+            final int y = centreY + rowY[row];
+            final int z = centreZ + rowZ[row];
+            if (isSafe(x, y, z)) {
+                return new Vector3i(x, y, z);
+            }
+            final int next = nextOffset(rowZ[row], loZ, hiZ);
+            if (next == END) {
+                heap[0] = heap[--size];
+            } else {
+                rowZ[row] = next;
+                rowDistance[row] = distance(rowX[row], rowY[row], next);
+            }
+            siftDown(heap, 0, size, rowX, rowY, rowZ, rowDistance);
+        }
+        return null;
+    }
+
+    private boolean isSafe(int x, int y, int z) {
+        if ((getFlags(x, y, z) & SAFE_BODY) == 0 || (getFlags(x, y + 1, z) & SAFE_BODY) == 0) {
+            return false;
+        }
+        final byte floor = getFlags(x, y - 1, z);
+        if ((floor & SAFE_FLOOR) != 0) {
+            return true;
+        }
+        // If it's not safe for the body, then we don't want to go through it anyway,
+        // otherwise the next block down has to be a floor, or we'd fall too far for our liking.
+        return (floor & SAFE_BODY) != 0 && (getFlags(x, y - 2, z) & SAFE_FLOOR) != 0;
+    }
+
+    private byte getFlags(int x, int y, int z) {
+        if (y < 0) {
+            // Anything below this isn't safe, no point going further.
+            return 0;
+        }
+        final long key = ((long) x & 0x3FFFFFF) << 38 | ((long) y & 0xFFF) << 26 | ((long) z & 0x3FFFFFF);
+        byte flags = this.cache.get(key);
+        if (flags == UNKNOWN) {
+            flags = readFlags(x, y, z);
+            this.cache.put(key, flags);
+        }
+        return flags;
+    }
+
+    // Offsets go 0, -1, 1, -2, 2... skipping the ones outside of the range
+    private static int nextOffset(int offset, int lo, int hi) {
+        final int limit = Math.max(-lo, hi);
+        int next = offset;
+        do {
+            next = next < 0 ? -next : -(next + 1);
+            if (Math.abs(next) > limit) {
+                return END;
+            }
+        } while (next < lo || next > hi);
+        return next;
+    }
+
+    private static long distance(int x, int y, int z) {
+        return (long) x * x + (long) y * y + (long) z * z;
+    }
+
+    private static void siftDown(int[] heap, int index, int size, int[] rowX, int[] rowY, int[] rowZ, long[] rowDistance) {
+        final int row = heap[index];
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child], rowX, rowY, rowZ, rowDistance)) {
+                child++;
+            }
+            if (!before(heap[child], row, rowX, rowY, rowZ, rowDistance)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private static boolean before(int a, int b, int[] rowX, int[] rowY, int[] rowZ, long[] rowDistance) {
+        if (rowDistance[a] != rowDistance[b]) {
+            return rowDistance[a] < rowDistance[b];
+        }
+        if (rowX[a] != rowX[b]) {
+            return rowX[a] < rowX[b];
+        }
+        if (rowY[a] != rowY[b]) {
+            return rowY[a] < rowY[b];
+        }
+        return rowZ[a] < rowZ[b];
+    }
+
+}
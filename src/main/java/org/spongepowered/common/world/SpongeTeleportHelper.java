@@ -27,19 +27,16 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.material.Material;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.TeleportHelper;
 import org.spongepowered.api.world.World;
-import org.spongepowered.common.block.BlockUtil;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -52,70 +49,34 @@ public Optional<Location<World>> getSafeLocation(Location<World> location) {
 
     @Override
     public Optional<Location<World>> getSafeLocation(Location<World> location, int height, int width) {
-        final World world = location.getExtent();
-
-        // We cache the various block lookup results so we don't check a block twice.
-        final Map<Vector3i, BlockData> blockCache = new HashMap<>();
-
-        // Get the vectors to check, and get the block types with them.
-        // The vectors should be sorted by distance from the centre of the checking region, so
-        // this makes it easier to try to get close, because we can just iterate and get progressively further out.
-        Optional<Vector3i> result = getBlockLocations(location, height, width).filter(currentTarget -> {
-            // Get the block, add it to the cache.
-            BlockData block = getBlockData(currentTarget, world, blockCache);
-
-            // If the block isn't safe, no point in continuing on this run.
-            if (block.isSafeBody) {
-
-                // Check the block ABOVE is safe for the body, and the two BELOW are safe too.
-                if (getBlockData(currentTarget.add(0, 1, 0), world, blockCache).isSafeBody
-                        && isFloorSafe(currentTarget, world, blockCache)) {
-
-                    // This position should be safe. Get the center of the block to spawn into.
-                    return true;
-                }
-            }
-
-            return false;
-        }).findFirst();
-
-        if (result.isPresent()) {
-            return Optional.of(new Location<>(world, result.get().toDouble().add(0.5, 0, 0.5)));
-        }
-
-        // No vectors matched, so return an empty optional.
-        return Optional.empty();
+        return getSafeLocation(location, height, width, false);
     }
 
-    private boolean isFloorSafe(Vector3i currentTarget, World world, Map<Vector3i, BlockData> blockCache) {
-        BlockData data = getBlockData(currentTarget.sub(0, 1, 0), world, blockCache);
-
-        // If it's a safe floor, we can just say yes now.
-        if (data.isSafeFloor) {
-            return true;
-        }
-
-        // If it's not safe for the body, then we don't want to go through it anyway.
-        if (!data.isSafeBody) {
-            return false;
-        }
-
-        // Check the next block down, if it's a floor, then we're good to go, otherwise we'd fall too far for our liking.
-        return getBlockData(currentTarget.sub(0, 2, 0), world, blockCache).isSafeFloor;
-    }
+    /**
+     * Gets the closest safe location to the given one, only looking at
+     * loaded chunks unless asked to load them. The chunk of the location
+     * itself is always loaded, as it is where the search starts.
+     *
+     * @param location The location to start from
+     * @param height The distance to search up and down
+     * @param width The distance to search along the x and z axis
+     * @param loadChunks Whether to load, or generate, the chunks in range
+     * @return The safe location, if any
+     */
+    public Optional<Location<World>> getSafeLocation(Location<World> location, int height, int width, boolean loadChunks) {
+        final World world = location.getExtent();
 
-    private Stream<Vector3i> getBlockLocations(Location<World> worldLocation, int height, int width) {
         // We don't want to warp outside of the world border, so we want to check that we're within it.
-        WorldBorder worldBorder = (WorldBorder) worldLocation.getExtent().getWorldBorder();
+        WorldBorder worldBorder = (WorldBorder) world.getWorldBorder();
         int worldBorderMinX = GenericMath.floor(worldBorder.minX());
         int worldBorderMinZ = GenericMath.floor(worldBorder.minZ());
         int worldBorderMaxX = GenericMath.floor(worldBorder.maxX());
         int worldBorderMaxZ = GenericMath.floor(worldBorder.maxZ());
 
         // Get the World and get the maximum Y value.
-        int worldMaxY = worldLocation.getExtent().getBlockMax().getY();
+        int worldMaxY = world.getBlockMax().getY();
 
-        Vector3i vectorLocation = worldLocation.getBlockPosition();
+        Vector3i vectorLocation = location.getBlockPosition();
 
         // We use clamp to remain within the world confines, so we don't waste time checking blocks outside of the
         // world border and the world height.
@@ -128,55 +89,63 @@ private Stream<Vector3i> getBlockLocations(Location<World> worldLocation, int he
         int minZ = GenericMath.clamp(vectorLocation.getZ() - width, worldBorderMinZ, worldBorderMaxZ);
         int maxZ = GenericMath.clamp(vectorLocation.getZ() + width, worldBorderMinZ, worldBorderMaxZ);
 
-        // We now iterate over all possible x, y and z positions to get all possible vectors.
-        List<Vector3i> vectors = new ArrayList<>();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    vectors.add(new Vector3i(x, y, z));
-                }
-            }
-        }
+        final WorldServer worldServer = (WorldServer) world;
+        worldServer.getChunkProvider().provideChunk(vectorLocation.getX() >> 4, vectorLocation.getZ() >> 4);
 
-        // Sort them according to the distance to the provided worldLocation.
-        return vectors.stream().sorted(Comparator.comparingInt(vectorLocation::distanceSquared));
-    }
-
-    private BlockData getBlockData(Vector3i vector3i, World world, Map<Vector3i, BlockData> cache) {
-        if (vector3i.getY() < 0) {
-            // Anything below this isn't safe, no point going further.
-            return new BlockData(null);
-        }
-
-        if (cache.containsKey(vector3i)) {
-            return cache.get(vector3i);
+        // Candidates are checked closest first, so the first safe one is the result.
+        final Vector3i result = new WorldSearch(worldServer, loadChunks).find(vectorLocation, minX, maxX, minY, maxY, minZ, maxZ);
+        if (result != null) {
+            return Optional.of(new Location<>(world, result.toDouble().add(0.5, 0, 0.5)));
         }
 
-        BlockData data = new BlockData(BlockUtil.toNative(world.getBlock(vector3i)).getMaterial());
-        cache.put(vector3i, data);
-        return data;
+        // No vectors matched, so return an empty optional.
+        return Optional.empty();
     }
 
-    private class BlockData {
+    private static final class WorldSearch extends SafeLocationSearch {
+
+        private static final byte AIR_FLAGS = flagsOf(Material.AIR);
 
-        private final boolean isSafeBody;
-        private final boolean isSafeFloor;
+        private final WorldServer world;
+        private final boolean loadChunks;
+        @Nullable private Chunk lastChunk;
 
-        // A null material just indicates that we want nothing to be marked as safe.
-        private BlockData(@Nullable Material material) {
-            this.isSafeBody = isSafeBodyMaterial(material);
-            this.isSafeFloor = isSafeFloorMaterial(material);
+        WorldSearch(WorldServer world, boolean loadChunks) {
+            this.world = world;
+            this.loadChunks = loadChunks;
         }
 
-        private boolean isSafeFloorMaterial(@Nullable Material material) {
-            return material != null && !(material == Material.AIR || material == Material.CACTUS || material == Material.FIRE
-                    || material == Material.LAVA);
+        @Override
+        protected byte readFlags(int x, int y, int z) {
+            final Chunk chunk = getChunk(x >> 4, z >> 4);
+            if (chunk == null) {
+                // Unknown blocks are never safe
+                return 0;
+            }
+            if (y >= 256) {
+                return AIR_FLAGS;
+            }
+            final ExtendedBlockStorage storage = chunk.getBlockStorageArray()[y >> 4];
+            if (storage == Chunk.NULL_BLOCK_STORAGE) {
+                return AIR_FLAGS;
+            }
+            return flagsOf(storage.get(x & 15, y & 15, z & 15).getMaterial());
         }
 
-        private boolean isSafeBodyMaterial(@Nullable Material material) {
-            return material != null && (material == Material.AIR || material == Material.PLANTS
-                    || material == Material.WATER || material == Material.REDSTONE_LIGHT || material == Material.CIRCUITS
-                    || material == Material.SNOW || material == Material.PORTAL || material == Material.WEB || material == Material.VINE);
+        @Nullable
+        private Chunk getChunk(int chunkX, int chunkZ) {
+            final Chunk lastChunk = this.lastChunk;
+            if (lastChunk != null && lastChunk.xPosition == chunkX && lastChunk.zPosition == chunkZ) {
+                return lastChunk;
+            }
+            Chunk chunk = ((IMixinChunkProviderServer) this.world.getChunkProvider()).getChunkIfLoaded(chunkX, chunkZ);
+            if (chunk == null && this.loadChunks) {
+                chunk = this.world.getChunkProvider().provideChunk(chunkX, chunkZ);
+            }
+            if (chunk != null) {
+                this.lastChunk = chunk;
+            }
+            return chunk;
         }
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * Caches the world lookups performed by explosions in a single world.
+ *
+ * <p>Block states and explosion resistances are keyed by block position,
+ * and the exposure of an entity bounding box to an explosion origin (see
+ * {@link World#getBlockDensity(Vec3d, AxisAlignedBB)}) is keyed by both, so
+ * that co-located explosions within the same tick, such as the ones created
+ * by TNT cannons, reuse the rays cast by their predecessors.</p>
+ *
+ * <p>Every block change in the owning world must be reported through
+ * {@link #invalidate(BlockPos)}, and the cache is dropped entirely at the
+ * end of every world tick.</p>
+ */
+public final class ExplosionCache {
+
+    private final Long2ObjectOpenHashMap<IBlockState> blockStates = new Long2ObjectOpenHashMap<>();
+    private final Long2FloatOpenHashMap resistances = new Long2FloatOpenHashMap();
+    private final Object2FloatOpenHashMap<ExposureKey> exposures = new Object2FloatOpenHashMap<>();
+
+    public ExplosionCache() {
+        this.resistances.defaultReturnValue(Float.NaN);
+        this.exposures.defaultReturnValue(Float.NaN);
+    }
+
+    public IBlockState getBlockState(World world, BlockPos pos) {
+        final long key = pos.toLong();
+        IBlockState state = this.blockStates.get(key);
+        if (state == null) {
+            state = world.getBlockState(pos);
+            this.blockStates.put(key, state);
+        }
+        return state;
+    }
+
+    /**
+     * Gets the cached explosion resistance of the block at the given
+     * position.
+     *
+     * @param pos The position
+     * @return The resistance, or {@link Float#NaN} if not cached yet
+     */
+    public float getResistance(BlockPos pos) {
+        return this.resistances.get(pos.toLong());
+    }
+
+    public void putResistance(BlockPos pos, float resistance) {
+        this.resistances.put(pos.toLong(), resistance);
+    }
+
+    public float getExposure(World world, Vec3d origin, AxisAlignedBB boundingBox) {
+        final ExposureKey key = new ExposureKey(origin, boundingBox);
+        float exposure = this.exposures.getFloat(key);
+        if (Float.isNaN(exposure)) {
+            exposure = world.getBlockDensity(origin, boundingBox);
+            this.exposures.put(key, exposure);
+        }
+        return exposure;
+    }
+
+    /**
+     * Drops all cached data depending on the block at the given position.
+     *
+     * <p>Exposures are dropped entirely, as any block change may intersect
+     * one of the rays they were computed from.</p>
+     *
+     * @param pos The changed position
+     */
+    public void invalidate(BlockPos pos) {
+        final long key = pos.toLong();
+        if (!this.blockStates.isEmpty()) {
+            this.blockStates.remove(key);
+        }
+        if (!this.resistances.isEmpty()) {
+            this.resistances.remove(key);
+        }
+        if (!this.exposures.isEmpty()) {
+            this.exposures.clear();
+        }
+    }
+
+    public void clear() {
+        if (!this.blockStates.isEmpty()) {
+            this.blockStates.clear();
+        }
+        if (!this.resistances.isEmpty()) {
+            this.resistances.clear();
+        }
+        if (!this.exposures.isEmpty()) {
+            this.exposures.clear();
+        }
+    }
+
+    private static final class ExposureKey {
+
+        private final double[] values;
+        private final int hashCode;
+
+        ExposureKey(Vec3d origin, AxisAlignedBB boundingBox) {
+            this.values = new double[] {origin.xCoord, origin.yCoord, origin.zCoord,
+                    boundingBox.minX, boundingBox.minY, boundingBox.minZ, boundingBox.maxX, boundingBox.maxY, boundingBox.maxZ};
+            this.hashCode = Arrays.hashCode(this.values);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || obj instanceof ExposureKey && Arrays.equals(this.values, ((ExposureKey) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
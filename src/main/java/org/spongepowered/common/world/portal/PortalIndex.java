@@ -0,0 +1,325 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import it.unimi.dsi.fastutil.shorts.ShortSets;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Index of the portal blocks of a world, used by the teleporter to find
+ * portals without scanning every block around the destination.
+ *
+ * <p>Portal blocks are kept per chunk for every loaded chunk, and for a
+ * bounded number of recently unloaded or searched chunks, as their content
+ * can't change until loaded again. The portals of a chunk are saved with its
+ * data, and chunks saved before the index existed are scanned once when they
+ * are read from disk.</p>
+ *
+ * <p>All methods but {@link #readPortals(Chunk, NBTTagCompound)} must be
+ * called from the main thread.</p>
+ */
+public final class PortalIndex {
+
+    // Enough for a couple of full teleporter searches, which cover 17 by 17 chunks
+    static final int MAX_UNLOADED_CHUNKS = 1024;
+
+    private final WorldServer world;
+    // The portals of every indexed loaded chunk, chunks without any map to the empty set
+    private final Long2ObjectMap<ShortSet> loadedChunks = new Long2ObjectOpenHashMap<>();
+    // The portals of recently unloaded or searched chunks, least recently used first
+    private final Long2ObjectLinkedOpenHashMap<ShortSet> unloadedChunks = new Long2ObjectLinkedOpenHashMap<>();
+
+    public PortalIndex(WorldServer world) {
+        this.world = world;
+    }
+
+    /**
+     * Updates the index after a block of a loaded chunk was changed.
+     *
+     * @param pos The position of the block
+     * @param portal Whether the block is now a portal
+     */
+    public void update(BlockPos pos, boolean portal) {
+        final long chunkKey = ChunkPos.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4);
+        final short packed = pack(pos.getX() & 15, pos.getY(), pos.getZ() & 15);
+        ShortSet chunkPortals = this.loadedChunks.get(chunkKey);
+        if (portal) {
+            if (chunkPortals == null || chunkPortals == ShortSets.EMPTY_SET) {
+                chunkPortals = new ShortOpenHashSet();
+                this.loadedChunks.put(chunkKey, chunkPortals);
+            }
+            chunkPortals.add(packed);
+        } else if (chunkPortals != null && !chunkPortals.isEmpty() && chunkPortals.remove(packed) && chunkPortals.isEmpty()) {
+            this.loadedChunks.put(chunkKey, ShortSets.EMPTY_SET);
+        }
+    }
+
+    /**
+     * Reads the portals of a chunk that was just read from disk, either from
+     * its saved portal table or by scanning its blocks if it was saved
+     * without one. The result is handed to the index once the chunk loads,
+     * through {@link #onChunkLoad(int, int, ShortSet)}.
+     *
+     * <p>This may be called from the chunk IO thread, and doesn't touch the
+     * index.</p>
+     *
+     * @param chunk The chunk
+     * @param level The level compound of the chunk
+     * @return The portals of the chunk
+     */
+    public static ShortSet readPortals(Chunk chunk, NBTTagCompound level) {
+        final ShortSet table = readTable(level);
+        if (table != null) {
+            return table;
+        }
+        ShortSet chunkPortals = ShortSets.EMPTY_SET;
+        for (ExtendedBlockStorage storage : chunk.getBlockStorageArray()) {
+            if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+                continue;
+            }
+            final int baseY = storage.getYLocation();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (storage.get(x, y, z).getBlock() == Blocks.PORTAL) {
+                            if (chunkPortals == ShortSets.EMPTY_SET) {
+                                chunkPortals = new ShortOpenHashSet();
+                            }
+                            chunkPortals.add(pack(x, baseY + y, z));
+                        }
+                    }
+                }
+            }
+        }
+        return chunkPortals;
+    }
+
+    /**
+     * Indexes a chunk once loaded.
+     *
+     * @param chunkX The chunk x position
+     * @param chunkZ The chunk z position
+     * @param chunkPortals The portals read along with the chunk, or null if
+     *     the chunk was generated rather than read from disk, in which case
+     *     it contains no portal that the index doesn't already know of
+     */
+    public void onChunkLoad(int chunkX, int chunkZ, @Nullable ShortSet chunkPortals) {
+        final long chunkKey = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+        this.unloadedChunks.remove(chunkKey);
+        if (chunkPortals != null) {
+            this.loadedChunks.put(chunkKey, chunkPortals);
+        } else if (!this.loadedChunks.containsKey(chunkKey)) {
+            this.loadedChunks.put(chunkKey, ShortSets.EMPTY_SET);
+        }
+    }
+
+    /**
+     * Moves a chunk being unloaded to the bounded set of unloaded chunks.
+     * Its portals are kept until it is saved, and for as long as it isn't
+     * evicted from the unloaded chunks.
+     *
+     * @param chunkX The chunk x position
+     * @param chunkZ The chunk z position
+     */
+    public void onChunkUnload(int chunkX, int chunkZ) {
+        final long chunkKey = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+        final ShortSet chunkPortals = this.loadedChunks.remove(chunkKey);
+        if (chunkPortals != null) {
+            putUnloaded(chunkKey, chunkPortals);
+        }
+    }
+
+    /**
+     * Writes the portal table of a chunk to its sponge data compound.
+     *
+     * @param chunk The chunk
+     * @param spongeData The sponge data compound of the chunk
+     */
+    public void writeChunk(Chunk chunk, NBTTagCompound spongeData) {
+        final long chunkKey = ChunkPos.chunkXZ2Int(chunk.xPosition, chunk.zPosition);
+        ShortSet chunkPortals = this.loadedChunks.get(chunkKey);
+        if (chunkPortals == null) {
+            // Chunks are saved after being unloaded
+            chunkPortals = this.unloadedChunks.get(chunkKey);
+            if (chunkPortals == null) {
+                return;
+            }
+        }
+        final int[] table = new int[chunkPortals.size()];
+        int i = 0;
+        for (ShortIterator it = chunkPortals.iterator(); it.hasNext(); ) {
+            table[i++] = it.nextShort() & 0xFFFF;
+        }
+        // An empty table still records that the chunk was indexed
+        spongeData.setIntArray(NbtDataUtil.SPONGE_PORTAL_TABLE, table);
+    }
+
+    /**
+     * Finds the portal block closest to the origin the way the vanilla
+     * teleporter does: within the columns at most {@code radius} blocks away
+     * along each horizontal axis, below {@code height}, keeping the bottom
+     * block of each vertical run of portal blocks, with ties going to the
+     * block vanilla would have found first.
+     *
+     * @param origin The position to search around
+     * @param radius The horizontal search radius
+     * @param height The height to search below
+     * @return The closest portal block, or null if there is none
+     */
+    @Nullable
+    public BlockPos findNearest(BlockPos origin, int radius, int height) {
+        final int minX = origin.getX() - radius;
+        final int maxX = origin.getX() + radius;
+        final int minZ = origin.getZ() - radius;
+        final int maxZ = origin.getZ() + radius;
+        long closest = -1;
+        int bestX = 0;
+        int bestY = 0;
+        int bestZ = 0;
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                final ShortSet chunkPortals = getChunkPortals(chunkX, chunkZ);
+                for (ShortIterator it = chunkPortals.iterator(); it.hasNext(); ) {
+                    final short packed = it.nextShort();
+                    final int y = unpackY(packed);
+                    if (y >= height || y > 0 && chunkPortals.contains((short) (packed - 256))) {
+                        // Above the search or not the bottom of its run
+                        continue;
+                    }
+                    final int x = (chunkX << 4) + unpackX(packed);
+                    final int z = (chunkZ << 4) + unpackZ(packed);
+                    if (x < minX || x > maxX || z < minZ || z > maxZ) {
+                        continue;
+                    }
+                    final long dx = x - origin.getX();
+                    final long dy = y - origin.getY();
+                    final long dz = z - origin.getZ();
+                    final long distance = dx * dx + dy * dy + dz * dz;
+                    // Vanilla scans x then z ascending, and y descending
+                    if (closest < 0 || distance < closest || distance == closest
+                            && (x < bestX || x == bestX && (z < bestZ || z == bestZ && y > bestY))) {
+                        closest = distance;
+                        bestX = x;
+                        bestY = y;
+                        bestZ = z;
+                    }
+                }
+            }
+        }
+        return closest < 0 ? null : new BlockPos(bestX, bestY, bestZ);
+    }
+
+    private ShortSet getChunkPortals(int chunkX, int chunkZ) {
+        final long chunkKey = ChunkPos.chunkXZ2Int(chunkX, chunkZ);
+        ShortSet chunkPortals = this.loadedChunks.get(chunkKey);
+        if (chunkPortals != null) {
+            return chunkPortals;
+        }
+        chunkPortals = this.unloadedChunks.getAndMoveToLast(chunkKey);
+        if (chunkPortals != null) {
+            return chunkPortals;
+        }
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) this.world.getChunkProvider()).getChunkLoader();
+        if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+            try {
+                final NBTTagCompound level = ((IMixinAnvilChunkLoader) chunkLoader).readChunkLevelCompound(chunkX, chunkZ);
+                // Never generated chunks contain nothing to find
+                chunkPortals = level == null ? ShortSets.EMPTY_SET : readTable(level);
+                if (chunkPortals != null) {
+                    putUnloaded(chunkKey, chunkPortals);
+                    return chunkPortals;
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Couldn't read the portals of chunk [{}, {}] from disk, loading it instead", chunkX, chunkZ, e);
+            }
+        }
+        // Saved before the index existed, loading it will scan it
+        this.world.getChunkProvider().loadChunk(chunkX, chunkZ);
+        chunkPortals = this.loadedChunks.get(chunkKey);
+        return chunkPortals == null ? ShortSets.EMPTY_SET : chunkPortals;
+    }
+
+    private void putUnloaded(long chunkKey, ShortSet chunkPortals) {
+        this.unloadedChunks.putAndMoveToLast(chunkKey, chunkPortals);
+        if (this.unloadedChunks.size() > MAX_UNLOADED_CHUNKS) {
+            this.unloadedChunks.removeFirst();
+        }
+    }
+
+    @Nullable
+    private static ShortSet readTable(NBTTagCompound level) {
+        final NBTTagCompound spongeData = level.getCompoundTag(NbtDataUtil.SPONGE_DATA);
+        if (!spongeData.hasKey(NbtDataUtil.SPONGE_PORTAL_TABLE, NbtDataUtil.TAG_INT_ARRAY)) {
+            return null;
+        }
+        final int[] table = spongeData.getIntArray(NbtDataUtil.SPONGE_PORTAL_TABLE);
+        if (table.length == 0) {
+            return ShortSets.EMPTY_SET;
+        }
+        final ShortSet chunkPortals = new ShortOpenHashSet(table.length);
+        for (int packed : table) {
+            chunkPortals.add((short) packed);
+        }
+        return chunkPortals;
+    }
+
+    static short pack(int x, int y, int z) {
+        return (short) (y << 8 | z << 4 | x);
+    }
+
+    static int unpackX(short packed) {
+        return packed & 15;
+    }
+
+    static int unpackY(short packed) {
+        return (packed & 0xFFFF) >> 8;
+    }
+
+    static int unpackZ(short packed) {
+        return (packed >> 4) & 15;
+    }
+
+}
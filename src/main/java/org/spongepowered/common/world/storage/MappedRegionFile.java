@@ -0,0 +1,268 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read only view of a region file that is memory mapped instead of being
+ * read through the {@link java.io.RandomAccessFile} of a vanilla
+ * {@link net.minecraft.world.chunk.storage.RegionFile}.
+ *
+ * <p>Chunks may be read concurrently from any number of threads, every read
+ * works on its own duplicate of the mapped buffer. The mapping is reference
+ * counted: the file starts with one reference held by whoever opened it,
+ * every other reader {@link #retain() retains} its own, and the mapping is
+ * unmapped once every reference is {@link #release() released}. Chunks may
+ * only be read while holding a reference.</p>
+ */
+public final class MappedRegionFile {
+
+    public static final int CHUNK_COUNT = 1024;
+
+    private static final int SECTOR_SIZE = 4096;
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_DEFLATE = 2;
+    private static final DataQuery SECTIONS = DataQuery.of(NbtDataUtil.CHUNK_DATA_SECTIONS);
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int[] offsets = new int[CHUNK_COUNT];
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    public MappedRegionFile(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (this.buffer.capacity() >= SECTOR_SIZE) {
+            for (int i = 0; i < CHUNK_COUNT; i++) {
+                this.offsets[i] = this.buffer.getInt(i * 4);
+            }
+        }
+    }
+
+    /**
+     * Counts the chunks stored in the given region file by reading its header,
+     * without mapping the file.
+     *
+     * @param path The region file
+     * @return The number of chunks
+     * @throws IOException If the header could not be read
+     */
+    public static int countChunks(Path path) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) != -1) {
+            }
+        }
+        if (header.hasRemaining()) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            if (header.getInt(i * 4) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds a reference to the mapping.
+     *
+     * @return False if the mapping was already released
+     */
+    public boolean retain() {
+        while (true) {
+            final int references = this.references.get();
+            if (references == 0) {
+                return false;
+            }
+            if (this.references.compareAndSet(references, references + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes a reference from the mapping, and unmaps the file once no
+     * references are left.
+     */
+    public void release() {
+        if (this.references.decrementAndGet() == 0) {
+            unmap(this.buffer);
+        }
+    }
+
+    // There is no public API to unmap a buffer before it is garbage collected,
+    // which may be long after a scan of a large world moved on
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            final Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // Left to the garbage collector
+        }
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    public boolean hasChunk(int index) {
+        return this.offsets[index] != 0;
+    }
+
+    /**
+     * Gets the index of the first stored chunk at or after the given index.
+     *
+     * @param from The index to start at
+     * @param fence The index to stop before
+     * @return The index of the chunk, or -1 if there is none before the fence
+     */
+    public int nextChunk(int from, int fence) {
+        for (int i = from; i < fence; i++) {
+            if (this.offsets[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int countChunks(int from, int fence) {
+        int count = 0;
+        for (int i = from; i < fence; i++) {
+            if (this.offsets[i] != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads and translates the level compound of the chunk at the given
+     * index, with the same checks as
+     * {@link WorldStorageUtil#readDataFromRegion}.
+     *
+     * @param index The index of the chunk, x + z * 32
+     * @return The chunk data, or null if the chunk is missing or invalid
+     * @throws IOException If the chunk data could not be decompressed
+     */
+    @Nullable
+    public DataContainer readChunk(int index) throws IOException {
+        final int offset = this.offsets[index];
+        if (offset == 0) {
+            return null;
+        }
+        final long start = (long) (offset >>> 8) * SECTOR_SIZE;
+        final int sectors = offset & 0xFF;
+        if (start + 5 > this.buffer.capacity()) {
+            return null;
+        }
+        final int length = this.buffer.getInt((int) start);
+        if (length <= 1 || length > sectors * SECTOR_SIZE || start + 4 + length > this.buffer.capacity()) {
+            return null;
+        }
+        final byte compression = this.buffer.get((int) start + 4);
+        final ByteBuffer payload = this.buffer.duplicate();
+        payload.position((int) start + 5);
+        payload.limit((int) start + 4 + length);
+        final InputStream raw = new ByteBufferInputStream(payload);
+        final InputStream decompressed;
+        if (compression == COMPRESSION_GZIP) {
+            decompressed = new GZIPInputStream(raw);
+        } else if (compression == COMPRESSION_DEFLATE) {
+            decompressed = new InflaterInputStream(raw);
+        } else {
+            return null;
+        }
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(decompressed))) {
+            final DataContainer level = NbtTranslator.getInstance().readCompound(stream, NbtDataUtil.CHUNK_DATA_LEVEL);
+            if (level == null || !level.getList(SECTIONS).isPresent()) {
+                return null;
+            }
+            return level;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, this.buffer.remaining());
+            this.buffer.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Spliterator} over the chunks stored in a set of region files.
+ *
+ * <p>The root spliterator pulls region files lazily from an iterator, and
+ * splits by handing off growing batches of files. Those batches split by
+ * halving their files, and a single region file splits by halving its chunk
+ * indices, so parallel streams stay busy even on worlds with a handful of
+ * regions. Chunks are decompressed on whichever thread advances the
+ * spliterator.</p>
+ *
+ * <p>Each spliterator holds a reference to the region file it reads, and
+ * releases it once it is done with the file's chunks, so the mapping of a
+ * region is released as soon as every split of it is consumed. Mappings of
+ * a traversal which is abandoned part way are left to the garbage
+ * collector.</p>
+ */
+public final class RegionChunkSpliterator implements Spliterator<DataContainer> {
+
+    private static final int BATCH_UNIT = 4;
+    private static final int MAX_BATCH = 256;
+
+    @Nullable private final Iterator<Path> source;
+    private Path[] files;
+    private int fileIndex;
+    private int fileFence;
+    private int batch;
+
+    @Nullable private MappedRegionFile region;
+    private int chunkIndex;
+    private int chunkFence;
+
+    RegionChunkSpliterator(Iterator<Path> source) {
+        this.source = source;
+        this.files = new Path[0];
+    }
+
+    private RegionChunkSpliterator(Path[] files, int fileIndex, int fileFence) {
+        this.source = null;
+        this.files = files;
+        this.fileIndex = fileIndex;
+        this.fileFence = fileFence;
+    }
+
+    private RegionChunkSpliterator(MappedRegionFile region, int chunkIndex, int chunkFence) {
+        this.source = null;
+        this.files = new Path[0];
+        this.region = region;
+        this.chunkIndex = chunkIndex;
+        this.chunkFence = chunkFence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super DataContainer> action) {
+        while (true) {
+            if (this.region != null) {
+                final int index = this.region.nextChunk(this.chunkIndex, this.chunkFence);
+                if (index != -1) {
+                    this.chunkIndex = index + 1;
+                    final DataContainer data = readChunk(this.region, index);
+                    if (data != null) {
+                        action.accept(data);
+                        return true;
+                    }
+                    continue;
+                }
+                this.region.release();
+                this.region = null;
+            }
+            final Path next = nextFile();
+            if (next == null) {
+                return false;
+            }
+            this.region = openRegion(next);
+            this.chunkIndex = 0;
+            this.chunkFence = MappedRegionFile.CHUNK_COUNT;
+        }
+    }
+
+    @Nullable
+    private Path nextFile() {
+        if (this.fileIndex < this.fileFence) {
+            return this.files[this.fileIndex++];
+        }
+        if (this.source != null && this.source.hasNext()) {
+            return this.source.next();
+        }
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<DataContainer> trySplit() {
+        if (this.source != null && this.source.hasNext()) {
+            final int size = Math.min(this.batch + BATCH_UNIT, MAX_BATCH);
+            final Path[] batch = new Path[size];
+            int count = 0;
+            while (count < size && this.source.hasNext()) {
+                batch[count++] = this.source.next();
+            }
+            this.batch = size;
+            return new RegionChunkSpliterator(batch, 0, count);
+        }
+        final int remainingFiles = this.fileFence - this.fileIndex;
+        if (remainingFiles > 1) {
+            final int mid = this.fileIndex + (remainingFiles >>> 1);
+            final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.files, this.fileIndex, mid);
+            this.fileIndex = mid;
+            return prefix;
+        }
+        if (this.region != null && remainingFiles == 0) {
+            final int remainingChunks = this.chunkFence - this.chunkIndex;
+            if (remainingChunks > 1) {
+                final int mid = this.chunkIndex + (remainingChunks >>> 1);
+                if (this.region.retain()) {
+                    final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.region, this.chunkIndex, mid);
+                    this.chunkIndex = mid;
+                    return prefix;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (this.source != null) {
+            return Long.MAX_VALUE;
+        }
+        long size = (long) (this.fileFence - this.fileIndex) * MappedRegionFile.CHUNK_COUNT;
+        if (this.region != null) {
+            size += this.region.countChunks(this.chunkIndex, this.chunkFence);
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+
+    @Nullable
+    static MappedRegionFile openRegion(Path file) {
+        try {
+            return new MappedRegionFile(file);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Couldn't open region file {}", file, e);
+            return null;
+        }
+    }
+
+    @Nullable
+    static DataContainer readChunk(MappedRegionFile region, int index) {
+        try {
+            return region.readChunk(index);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Couldn't read chunk {} of region file {}", index, region.getPath(), e);
+            return null;
+        }
+    }
+
+}
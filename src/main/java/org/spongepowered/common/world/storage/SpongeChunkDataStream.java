@@ -26,124 +26,186 @@
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
-import net.minecraft.world.chunk.storage.RegionFile;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
 
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
 
 public class SpongeChunkDataStream implements ChunkDataStream {
 
-    private static class RegionFileItr {
+    private static final int DECOMPRESSION_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    // Chunks decompressed ahead of the caller, bounds the memory held by the stream
+    private static final int PREFETCH = DECOMPRESSION_THREADS * 4;
+    private static final ExecutorService DECOMPRESSOR = Executors.newFixedThreadPool(DECOMPRESSION_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("Sponge Chunk Data Stream #%d").setDaemon(true).build());
 
-        private final RegionFile file;
-        public int index;
+    private final Path worldDir;
+    private final Set<Path> openedFiles = Sets.newHashSet();
+    private final Deque<Future<DataContainer>> pending = new ArrayDeque<>();
+    @Nullable private Iterator<Path> files;
+    @Nullable private MappedRegionFile region;
+    private int chunkIndex;
+    @Nullable private DataContainer peeked;
 
-        public RegionFileItr(RegionFile regionFile) {
-            this.file = regionFile;
-        }
+    public SpongeChunkDataStream(Path worldDir) {
+        this.worldDir = worldDir;
+    }
+
+    /**
+     * Creates a spliterator over all chunks of the world, independent of the
+     * position of this stream. Chunks are read lazily, region file by region
+     * file, so the spliterator can be used with
+     * {@link java.util.stream.StreamSupport#stream(Spliterator, boolean)} to
+     * process a world in parallel without loading it in to memory.
+     *
+     * <p>Use {@link WorldStorageUtil#spliterator(ChunkDataStream)} to get a
+     * spliterator of a stream returned by the API.</p>
+     *
+     * @return The spliterator
+     */
+    public Spliterator<DataContainer> spliterator() {
+        return new RegionChunkSpliterator(WorldStorageUtil.listRegionFiles(this.worldDir));
+    }
 
-        public int getNext() {
-            int index = this.index;
-            int[] offsets = this.file.offsets;
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
-                index++;
+    private void fill() {
+        while (this.pending.size() < PREFETCH) {
+            if (this.region == null && !nextRegion()) {
+                return;
             }
-            if (index >= offsets.length) {
-                return -1;
+            final MappedRegionFile region = this.region;
+            final int index = region.nextChunk(this.chunkIndex, MappedRegionFile.CHUNK_COUNT);
+            if (index == -1) {
+                // Unmapped once the queued reads of the region are done
+                region.release();
+                this.region = null;
+                continue;
             }
-            return index;
-        }
-
-        public DataInputStream getStreamAt(int index) {
-            int x = index & 31;
-            int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
+            this.chunkIndex = index + 1;
+            region.retain();
+            this.pending.add(DECOMPRESSOR.submit(() -> {
+                try {
+                    return RegionChunkSpliterator.readChunk(region, index);
+                } finally {
+                    region.release();
+                }
+            }));
         }
-
     }
 
-    private final Set<Path> openedFiles = Sets.newHashSet();
-    private RegionFileItr regionFileItr;
-    private final Path worldDir;
-
-    public SpongeChunkDataStream(Path worldDir) {
-        this.worldDir = worldDir;
-    }
-
-    private boolean itrAvailable() {
-        if (this.regionFileItr != null) {
-            return true;
+    private boolean nextRegion() {
+        if (this.files == null) {
+            this.files = WorldStorageUtil.listRegionFiles(this.worldDir);
         }
-        Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
-        for (Path file : files) {
-            if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
-                this.openedFiles.add(file);
-                return true;
+        while (this.files.hasNext()) {
+            final Path file = this.files.next();
+            if (this.openedFiles.add(file)) {
+                this.region = RegionChunkSpliterator.openRegion(file);
+                if (this.region != null) {
+                    this.chunkIndex = 0;
+                    return true;
+                }
             }
         }
         return false;
     }
 
-    private int getNextIndex() {
-        int next;
-        while (itrAvailable()) {
-            if ((next = this.regionFileItr.getNext()) == -1) {
-                this.regionFileItr = null;
-            } else {
-                return next;
+    @Nullable
+    private DataContainer peek() {
+        if (this.peeked != null) {
+            return this.peeked;
+        }
+        while (true) {
+            fill();
+            final Future<DataContainer> future = this.pending.poll();
+            if (future == null) {
+                return null;
+            }
+            final DataContainer data;
+            try {
+                data = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Throwables.propagate(e);
+            } catch (ExecutionException e) {
+                throw Throwables.propagate(e.getCause());
+            }
+            if (data != null) {
+                this.peeked = data;
+                fill();
+                return data;
             }
         }
-        return -1;
     }
 
     @Override
     public DataContainer next() {
-        int next = getNextIndex();
-        if (next == -1) {
+        final DataContainer data = peek();
+        if (data == null) {
             throw new NoSuchElementException();
         }
-        this.regionFileItr.index = next + 1;
-        DataInputStream stream = this.regionFileItr.getStreamAt(next);
-        try {
-            return WorldStorageUtil.readDataFromRegion(stream);
-        } catch (IOException e) {
-            throw Throwables.propagate(e);
-        }
+        this.peeked = null;
+        return data;
     }
 
     @Override
     public boolean hasNext() {
-        return getNextIndex() != -1;
+        return peek() != null;
     }
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        RegionFileItr currentItr = this.regionFileItr;
-        Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
-        int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
+        // Count what is already queued, then the headers of the current and
+        // remaining region files, without decompressing anything
+        int count = (this.peeked != null ? 1 : 0) + this.pending.size();
+        if (this.region != null) {
+            count += this.region.countChunks(this.chunkIndex, MappedRegionFile.CHUNK_COUNT);
+        }
+        final Iterator<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
+        while (files.hasNext()) {
+            final Path file = files.next();
+            if (!this.openedFiles.contains(file)) {
+                try {
+                    count += MappedRegionFile.countChunks(file);
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Couldn't read the header of region file {}", file, e);
+                }
+            }
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
         return count;
     }
 
     @Override
     public void reset() {
-        this.regionFileItr = null;
+        // Queued reads are left to finish rather than cancelled, so they
+        // release their region
+        this.pending.clear();
+        // Drain the listing so its directory stream gets closed
+        if (this.files != null) {
+            while (this.files.hasNext()) {
+                this.files.next();
+            }
+            this.files = null;
+        }
+        if (this.region != null) {
+            this.region.release();
+            this.region = null;
+        }
+        this.peeked = null;
         this.openedFiles.clear();
     }
 
@@ -25,14 +25,15 @@
 package org.spongepowered.common.world.storage;
 
 import com.flowpowered.math.vector.Vector3i;
-import com.google.common.collect.Lists;
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
+import com.google.common.collect.AbstractIterator;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
@@ -41,11 +42,15 @@
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
 
 public class WorldStorageUtil {
@@ -77,26 +82,82 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         if (stream == null) {
             return null;
         }
-        NBTTagCompound data = CompressedStreamTools.read(stream);
+        // Only the level compound is translated, the rest of the root is skipped
+        DataContainer level = NbtTranslator.getInstance().readCompound(stream, NbtDataUtil.CHUNK_DATA_LEVEL);
 
         // Checks are based on AnvilChunkLoader#checkedReadChunkFromNBT
 
-        if (!data.hasKey(NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.TAG_COMPOUND)) {
+        if (level == null) {
             return null;
         }
-        NBTTagCompound level = data.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL);
-        if (!level.hasKey(NbtDataUtil.CHUNK_DATA_SECTIONS, NbtDataUtil.TAG_LIST)) {
+        if (!level.getList(DataQuery.of(NbtDataUtil.CHUNK_DATA_SECTIONS)).isPresent()) {
             return null;
         }
-        return NbtTranslator.getInstance().translateFrom(level);
+        return level;
     }
 
-    public static Iterable<Path> listRegionFiles(Path worldDir) {
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldDir.resolve("region"), "*.mca")) {
-            return Lists.newArrayList(stream);
+    /**
+     * Lists the region files of the given world directory lazily. The
+     * underlying directory stream is closed once the iterator is exhausted.
+     *
+     * @param worldDir The world directory
+     * @return An iterator over the region files
+     */
+    public static Iterator<Path> listRegionFiles(Path worldDir) {
+        final DirectoryStream<Path> stream;
+        try {
+            stream = Files.newDirectoryStream(worldDir.resolve("region"), "*.mca");
         } catch (IOException e) {
-            return Collections.emptySet();
+            return Collections.emptyIterator();
         }
+        final Iterator<Path> iterator = stream.iterator();
+        return new AbstractIterator<Path>() {
+
+            @Override
+            protected Path computeNext() {
+                try {
+                    if (iterator.hasNext()) {
+                        return iterator.next();
+                    }
+                } catch (DirectoryIteratorException e) {
+                    SpongeImpl.getLogger().error("Couldn't list the region files of {}", worldDir, e);
+                }
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                }
+                return endOfData();
+            }
+        };
+    }
+
+    /**
+     * Gets a spliterator over all chunks of the given stream, for processing
+     * chunks with parallel streams. Streams of
+     * {@link org.spongepowered.api.world.storage.WorldStorage#getGeneratedChunks()}
+     * split by region file and chunk, independent of the position of the
+     * stream. Any other stream is reset and consumed sequentially.
+     *
+     * @param stream The chunk data stream
+     * @return The spliterator
+     */
+    public static Spliterator<DataContainer> spliterator(ChunkDataStream stream) {
+        if (stream instanceof SpongeChunkDataStream) {
+            return ((SpongeChunkDataStream) stream).spliterator();
+        }
+        stream.reset();
+        return Spliterators.spliteratorUnknownSize(new Iterator<DataContainer>() {
+
+            @Override
+            public boolean hasNext() {
+                return stream.hasNext();
+            }
+
+            @Override
+            public DataContainer next() {
+                return stream.next();
+            }
+        }, Spliterator.NONNULL);
     }
 
     // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
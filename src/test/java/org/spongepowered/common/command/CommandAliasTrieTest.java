@@ -0,0 +1,140 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandCallable;
+import org.spongepowered.api.command.CommandMapping;
+import org.spongepowered.api.command.CommandSource;
+
+public class CommandAliasTrieTest {
+
+    private CommandSource source;
+    private CommandMapping teleport;
+    private CommandMapping tps;
+    private CommandMapping time;
+
+    @Before
+    public void setUp() {
+        this.source = mock(CommandSource.class);
+        this.teleport = mapping(true);
+        this.tps = mapping(true);
+        this.time = mapping(true);
+    }
+
+    private static CommandMapping mapping(boolean permitted) {
+        final CommandCallable callable = mock(CommandCallable.class);
+        when(callable.testPermission(any())).thenReturn(permitted);
+        final CommandMapping mapping = mock(CommandMapping.class);
+        when(mapping.getCallable()).thenReturn(callable);
+        return mapping;
+    }
+
+    private CommandAliasTrie createTrie() {
+        final CommandAliasTrie trie = new CommandAliasTrie();
+        trie.add("tp", this.teleport);
+        trie.add("teleport", this.teleport);
+        trie.add("minecraft:tp", this.teleport);
+        trie.add("tps", this.tps);
+        trie.add("time", this.time);
+        return trie;
+    }
+
+    @Test
+    public void testCompletesAliasesBelowPrefixInOrder() {
+        final CommandAliasTrie trie = createTrie();
+        Assert.assertEquals(ImmutableList.of("teleport", "time", "tp", "tps"), trie.complete(this.source, "t"));
+        Assert.assertEquals(ImmutableList.of("tp", "tps"), trie.complete(this.source, "tp"));
+        Assert.assertEquals(ImmutableList.of("teleport"), trie.complete(this.source, "tel"));
+        Assert.assertEquals(ImmutableList.of("minecraft:tp"), trie.complete(this.source, "minecraft:"));
+    }
+
+    @Test
+    public void testEmptyPrefixCompletesEveryAlias() {
+        Assert.assertEquals(ImmutableList.of("minecraft:tp", "teleport", "time", "tp", "tps"), createTrie().complete(this.source, ""));
+    }
+
+    @Test
+    public void testUnknownPrefixCompletesNothing() {
+        final CommandAliasTrie trie = createTrie();
+        Assert.assertTrue(trie.complete(this.source, "x").isEmpty());
+        Assert.assertTrue(trie.complete(this.source, "tpx").isEmpty());
+        Assert.assertTrue(trie.complete(this.source, "teleports").isEmpty());
+    }
+
+    @Test
+    public void testPrefixIgnoresCase() {
+        final CommandAliasTrie trie = new CommandAliasTrie();
+        trie.add("Spawn", this.teleport);
+        Assert.assertEquals(ImmutableList.of("spawn"), trie.complete(this.source, "SP"));
+    }
+
+    @Test
+    public void testAliasesWithoutPermittedCommandSkipped() {
+        final CommandAliasTrie trie = createTrie();
+        final CommandMapping denied = mapping(false);
+        trie.add("tpa", denied);
+        trie.add("tps", denied);
+        Assert.assertEquals(ImmutableList.of("tp", "tps"), trie.complete(this.source, "tp"));
+    }
+
+    @Test
+    public void testRemoveKeepsOtherAliases() {
+        final CommandAliasTrie trie = createTrie();
+        trie.remove("tp", this.teleport);
+        Assert.assertEquals(ImmutableList.of("tps"), trie.complete(this.source, "tp"));
+
+        trie.remove("tps", this.tps);
+        Assert.assertTrue(trie.complete(this.source, "tp").isEmpty());
+        Assert.assertEquals(ImmutableList.of("teleport", "time"), trie.complete(this.source, "t"));
+    }
+
+    @Test
+    public void testRemoveKeepsAliasOfOtherMapping() {
+        final CommandAliasTrie trie = createTrie();
+        final CommandMapping other = mapping(true);
+        trie.add("time", other);
+        trie.remove("time", this.time);
+        Assert.assertEquals(ImmutableList.of("time"), trie.complete(this.source, "ti"));
+        trie.remove("time", other);
+        Assert.assertTrue(trie.complete(this.source, "ti").isEmpty());
+    }
+
+    @Test
+    public void testRemoveUnknownAliasIgnored() {
+        final CommandAliasTrie trie = createTrie();
+        trie.remove("tpx", this.teleport);
+        trie.remove("t", this.teleport);
+        Assert.assertEquals(ImmutableList.of("tp", "tps"), trie.complete(this.source, "tp"));
+    }
+
+}
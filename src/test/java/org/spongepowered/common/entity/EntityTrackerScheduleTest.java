@@ -0,0 +1,178 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTrackerEntry;
+
+import java.util.List;
+
+public class EntityTrackerScheduleTest {
+
+    private static final List<EntityPlayer> NO_PLAYERS = ImmutableList.of();
+    private static final int MAX_RANGE = 512;
+
+    private EntityTrackerSchedule schedule;
+
+    @Before
+    public void setUp() {
+        this.schedule = new EntityTrackerSchedule();
+    }
+
+    /**
+     * Creates an entry which records the update counter of each of its
+     * updates, which is the number of ticks since it was first updated.
+     */
+    private EntityTrackerEntry createEntry(Entity entity, int frequency, IntList updates) {
+        final EntityTrackerEntry entry = mock(EntityTrackerEntry.class, withSettings().extraInterfaces(IMixinEntityTrackerEntry.class));
+        final IMixinEntityTrackerEntry mixinEntry = (IMixinEntityTrackerEntry) entry;
+        final EntityTrackerSchedule.Node[] node = new EntityTrackerSchedule.Node[1];
+        when(mixinEntry.getScheduleNode()).thenAnswer(invocation -> node[0]);
+        doAnswer(invocation -> node[0] = (EntityTrackerSchedule.Node) invocation.getArguments()[0]).when(mixinEntry).setScheduleNode(any());
+        when(mixinEntry.getUpdateFrequency()).thenReturn(frequency);
+        when(entry.getTrackedEntity()).thenReturn(entity);
+        doAnswer(invocation -> updates.add(entry.updateCounter)).when(entry).updatePlayerList(any());
+        return entry;
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            this.schedule.tick(NO_PLAYERS, MAX_RANGE);
+        }
+    }
+
+    private static IntList every(int period, int ticks) {
+        final IntList updates = new IntArrayList();
+        for (int counter = 0; counter < ticks; counter += period) {
+            updates.add(counter);
+        }
+        return updates;
+    }
+
+    @Test
+    public void testEntriesUpdatedOnTheirFrequency() {
+        final int ticks = 200;
+        final int[] frequencies = {1, 2, 3, 20, 63, 64, 65, 100};
+        final IntList[] updates = new IntList[frequencies.length];
+        for (int i = 0; i < frequencies.length; i++) {
+            updates[i] = new IntArrayList();
+            this.schedule.add(createEntry(mock(Entity.class), frequencies[i], updates[i]));
+        }
+        tick(ticks);
+        for (int i = 0; i < frequencies.length; i++) {
+            Assert.assertEquals("frequency " + frequencies[i], every(frequencies[i], ticks), updates[i]);
+        }
+    }
+
+    @Test
+    public void testEntriesAddedLaterStartTheirOwnCount() {
+        final IntList updates = new IntArrayList();
+        tick(7);
+        this.schedule.add(createEntry(mock(Entity.class), 3, updates));
+        tick(10);
+        Assert.assertEquals(every(3, 10), updates);
+    }
+
+    @Test
+    public void testPlayersUpdatedEveryTick() {
+        final IntList updates = new IntArrayList();
+        this.schedule.add(createEntry(mock(EntityPlayerMP.class), 2, updates));
+        tick(10);
+        Assert.assertEquals(every(1, 10), updates);
+    }
+
+    @Test
+    public void testDirtyEntryFlushedOnNextTrackerTick() {
+        final IntList updates = new IntArrayList();
+        final EntityTrackerEntry entry = createEntry(mock(Entity.class), 20, updates);
+        this.schedule.add(entry);
+        tick(1);
+
+        // Marked while the entities tick, so updated by the tracker in the same server tick
+        this.schedule.markDirty(entry);
+        this.schedule.markDirty(entry);
+        tick(1);
+        Assert.assertEquals(IntArrayList.wrap(new int[] {0, 1}), updates);
+
+        // The schedule is unchanged by the extra update
+        tick(18);
+        Assert.assertEquals(IntArrayList.wrap(new int[] {0, 1}), updates);
+        tick(1);
+        Assert.assertEquals(IntArrayList.wrap(new int[] {0, 1, 20}), updates);
+    }
+
+    @Test
+    public void testDirtyEntryDueOnSameTickUpdatedOnce() {
+        final IntList updates = new IntArrayList();
+        final EntityTrackerEntry entry = createEntry(mock(Entity.class), 5, updates);
+        this.schedule.add(entry);
+        tick(5);
+        this.schedule.markDirty(entry);
+        tick(1);
+        Assert.assertEquals(IntArrayList.wrap(new int[] {0, 5}), updates);
+    }
+
+    @Test
+    public void testAirborneEntityMarkedDirtyAfterTick() {
+        final IntList updates = new IntArrayList();
+        final Entity entity = mock(Entity.class);
+        final EntityTrackerEntry entry = createEntry(entity, 20, updates);
+        this.schedule.add(entry);
+        tick(1);
+
+        entity.isAirBorne = true;
+        this.schedule.checkAfterTick(entry);
+        tick(1);
+        Assert.assertEquals(IntArrayList.wrap(new int[] {0, 1}), updates);
+    }
+
+    @Test
+    public void testRemovedEntryNotUpdated() {
+        final IntList updates = new IntArrayList();
+        final EntityTrackerEntry entry = createEntry(mock(Entity.class), 2, updates);
+        this.schedule.add(entry);
+        tick(1);
+        this.schedule.markDirty(entry);
+        this.schedule.remove(entry);
+        tick(10);
+        Assert.assertEquals(IntArrayList.wrap(new int[] {0}), updates);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.common.interfaces.entity.player.IMixinInventoryPlayer;
+import org.spongepowered.common.item.inventory.lens.Fabric;
+
+public class SlotIndexTest {
+
+    private static final int SIZE = 9;
+
+    private final Item apple = new Item();
+    private final Item stick = new Item();
+
+    private ItemStack[] stacks;
+    private int revision;
+    private Fabric<IInventory> fabric;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        this.stacks = new ItemStack[SIZE];
+        final IInventory inventory = mock(IInventory.class, withSettings().extraInterfaces(IMixinInventoryPlayer.class));
+        when(((IMixinInventoryPlayer) inventory).getContentsRevision()).thenAnswer(invocation -> this.revision);
+        this.fabric = mock(Fabric.class);
+        when(this.fabric.allInventories()).thenReturn(ImmutableSet.of(inventory));
+        when(this.fabric.getSize()).thenReturn(SIZE);
+        when(this.fabric.getStack(anyInt())).thenAnswer(invocation -> this.stacks[(Integer) invocation.getArguments()[0]]);
+    }
+
+    private void setStack(int slot, Item item) {
+        this.stacks[slot] = item == null ? null : new ItemStack(item);
+        this.revision++;
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        this.setStack(2, this.apple);
+        this.setStack(6, this.apple);
+        final SlotIndex index = SlotIndex.of(this.fabric);
+        Assert.assertNotNull(index);
+        Assert.assertEquals(ImmutableSet.of(2, 6), index.getSlots(this.fabric, this.apple));
+        Assert.assertTrue(index.getSlots(this.fabric, this.stick).isEmpty());
+    }
+
+    @Test
+    public void testChangedSlotsReindexed() {
+        this.setStack(2, this.apple);
+        final SlotIndex index = SlotIndex.of(this.fabric);
+        Assert.assertEquals(ImmutableSet.of(2), index.getSlots(this.fabric, this.apple));
+
+        this.setStack(2, null);
+        this.setStack(4, this.stick);
+        this.setStack(5, this.apple);
+        Assert.assertEquals(ImmutableSet.of(5), index.getSlots(this.fabric, this.apple));
+        Assert.assertEquals(ImmutableSet.of(4), index.getSlots(this.fabric, this.stick));
+
+        this.setStack(4, this.apple);
+        Assert.assertEquals(ImmutableSet.of(4, 5), index.getSlots(this.fabric, this.apple));
+        Assert.assertTrue(index.getSlots(this.fabric, this.stick).isEmpty());
+    }
+
+    @Test
+    public void testUnchangedInventoryNotRescanned() {
+        this.setStack(3, this.apple);
+        final SlotIndex index = SlotIndex.of(this.fabric);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(ImmutableSet.of(3), index.getSlots(this.fabric, this.apple));
+            Assert.assertTrue(index.getSlots(this.fabric, this.stick).isEmpty());
+        }
+        verify(this.fabric, times(SIZE)).getStack(anyInt());
+
+        this.setStack(7, this.stick);
+        Assert.assertEquals(ImmutableSet.of(7), index.getSlots(this.fabric, this.stick));
+        verify(this.fabric, times(2 * SIZE)).getStack(anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUntrackedFabricNotIndexed() {
+        final Fabric<IInventory> untracked = mock(Fabric.class);
+        when(untracked.allInventories()).thenReturn(ImmutableSet.of(mock(IInventory.class)));
+        Assert.assertNull(SlotIndex.of(untracked));
+    }
+
+}
@@ -25,11 +25,18 @@
 package org.spongepowered.common.service.sql;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
+import org.spongepowered.common.config.category.SqlCategory;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
 
 public class SqlServiceImplTest {
     @Test
@@ -64,4 +71,49 @@ public void testSqliteConnectionInfo() throws SQLException {
         assertEquals(jdbcUrl, subject.getAuthlessUrl());
         assertEquals("org.sqlite.JDBC", subject.getDriverClassName());
     }
+
+    @Test
+    public void testH2AsyncQuery() throws Exception {
+        final SqlCategory config = new SqlCategory();
+        final SqlServiceImpl service = new SqlServiceImpl(() -> config, Runnable::run);
+        try {
+            final PooledDataSource dataSource = (PooledDataSource) service.getDataSource("jdbc:h2:mem:async");
+            final int result = service.executeAsync(dataSource, connection -> {
+                try (Statement statement = connection.createStatement(); ResultSet results = statement.executeQuery("SELECT 6 * 7")) {
+                    results.next();
+                    return results.getInt(1);
+                }
+            }).get(10, TimeUnit.SECONDS);
+
+            assertEquals(42, result);
+            assertEquals(0, service.getPendingQueries());
+            assertEquals(1, service.getDataSources().size());
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void testIdleDataSourceReopens() throws Exception {
+        final SqlCategory config = new SqlCategory();
+        final SqlServiceImpl service = new SqlServiceImpl(() -> config, Runnable::run);
+        try {
+            final PooledDataSource dataSource = (PooledDataSource) service.getDataSource("jdbc:h2:mem:idle");
+            final long timeout = TimeUnit.MINUTES.toNanos(1);
+            try (Connection connection = dataSource.getConnection()) {
+                assertTrue(dataSource.isOpen());
+                assertFalse(dataSource.closeIfIdle(System.nanoTime() + timeout, timeout));
+            }
+            assertFalse(dataSource.closeIfIdle(System.nanoTime(), timeout));
+            assertTrue(dataSource.closeIfIdle(System.nanoTime() + timeout, timeout));
+            assertFalse(dataSource.isOpen());
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+            assertTrue(dataSource.isOpen());
+        } finally {
+            service.close();
+        }
+    }
 }
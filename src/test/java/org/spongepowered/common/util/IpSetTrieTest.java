@@ -0,0 +1,70 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetTrieTest {
+
+    private final IpSetTrie trie = new IpSetTrie(ImmutableMap.of(
+            "lan", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8")),
+            "office", ImmutableList.of(IpSet.fromCidr("10.42.0.0/16")),
+            "odd", ImmutableList.of(IpSet.fromCidr("10.42.16.0/20"), IpSet.fromCidr("10.0.0.0/9")),
+            "v6", ImmutableList.of(IpSet.fromCidr("[2064:45:300::]/40")),
+            "all", ImmutableList.of()));
+
+    @Test
+    public void testNestedSets() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("all", "lan", "office", "odd"), this.trie.match(InetAddress.getByName("10.42.31.5")));
+        assertEquals(ImmutableSet.of("all", "lan", "office"), this.trie.match(InetAddress.getByName("10.42.32.5")));
+        assertEquals(ImmutableSet.of("all", "lan"), this.trie.match(InetAddress.getByName("10.43.2.5")));
+        assertEquals(ImmutableSet.of("all"), this.trie.match(InetAddress.getByName("11.0.0.1")));
+    }
+
+    @Test
+    public void testIpv6Sets() throws UnknownHostException {
+        assertEquals(ImmutableSet.of("all", "v6"), this.trie.match(InetAddress.getByName("2064:45:310::cafe")));
+        assertEquals(ImmutableSet.of("all"), this.trie.match(InetAddress.getByName("2064:45:410::cafe")));
+        assertEquals(ImmutableSet.of("all"), this.trie.match(InetAddress.getByName("::a2a:1f05")));
+    }
+
+    @Test
+    public void testMatchesIpSets() throws UnknownHostException {
+        for (String address : new String[] {"10.42.15.255", "10.42.16.0", "10.127.0.1", "10.128.0.1", "192.168.1.1"}) {
+            final InetAddress addr = InetAddress.getByName(address);
+            final boolean odd = IpSet.fromCidr("10.42.16.0/20").apply(addr) && IpSet.fromCidr("10.0.0.0/9").apply(addr);
+            assertEquals(odd, this.trie.match(addr).contains("odd"));
+        }
+    }
+
+}
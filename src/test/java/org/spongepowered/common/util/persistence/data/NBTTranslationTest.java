@@ -24,8 +24,10 @@
  */
 package org.spongepowered.common.util.persistence.data;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -37,6 +39,12 @@
 import org.spongepowered.api.data.persistence.DataBuilder;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Optional;
 
 public class NBTTranslationTest {
@@ -63,4 +71,37 @@ public void testDotContainerKeys() {
         assertEquals(container, translatedContainer);
     }
 
+    @Test
+    public void testStreamingRoundTrip() throws IOException {
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("foo"), "bar")
+                .set(DataQuery.of("flag"), true)
+                .set(DataQuery.of("nested", "long"), 5L)
+                .set(DataQuery.of("nested", "double"), 2.5D)
+                .set(DataQuery.of("list"), Arrays.asList(1, 2, 3));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtTranslator.getInstance().write(new DataOutputStream(bytes), container);
+        DataContainer translatedContainer = NbtTranslator.getInstance().read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(container, translatedContainer);
+    }
+
+    @Test
+    public void testStreamingMatchesTagTree() throws IOException {
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("foo"), "bar")
+                .set(DataQuery.of("flag"), false)
+                .set(DataQuery.of("nested", "short"), (short) 3)
+                .set(DataQuery.of("bytes"), new byte[] {1, 2, 3})
+                .set(DataQuery.of("ints"), new int[] {4, 5, 6});
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtTranslator.getInstance().write(new DataOutputStream(bytes), container);
+        NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(NbtTranslator.getInstance().translateData(container), compound);
+
+        DataContainer translatedContainer = NbtTranslator.getInstance().read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) translatedContainer.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {4, 5, 6}, (int[]) translatedContainer.get(DataQuery.of("ints")).get());
+        assertEquals(false, translatedContainer.getBoolean(DataQuery.of("flag")).get());
+    }
+
 }
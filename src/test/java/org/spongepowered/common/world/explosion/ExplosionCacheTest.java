@@ -0,0 +1,100 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.explosion;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExplosionCacheTest {
+
+    private static final BlockPos POS = new BlockPos(10, 64, -3);
+
+    @Test
+    public void testBlockStateCachedUntilInvalidated() {
+        final World world = mock(World.class);
+        final IBlockState state = mock(IBlockState.class);
+        when(world.getBlockState(POS)).thenReturn(state);
+        final ExplosionCache cache = new ExplosionCache();
+
+        Assert.assertSame(state, cache.getBlockState(world, POS));
+        Assert.assertSame(state, cache.getBlockState(world, new BlockPos(10, 64, -3)));
+        verify(world, times(1)).getBlockState(POS);
+
+        cache.invalidate(POS);
+        cache.getBlockState(world, POS);
+        verify(world, times(2)).getBlockState(POS);
+    }
+
+    @Test
+    public void testResistanceDroppedWithBlock() {
+        final ExplosionCache cache = new ExplosionCache();
+        Assert.assertTrue(Float.isNaN(cache.getResistance(POS)));
+
+        cache.putResistance(POS, 6.0F);
+        Assert.assertEquals(6.0F, cache.getResistance(POS), 0.0F);
+
+        // Without any cached block state
+        cache.invalidate(POS);
+        Assert.assertTrue(Float.isNaN(cache.getResistance(POS)));
+
+        cache.putResistance(POS, 6.0F);
+        cache.getBlockState(mock(World.class), POS);
+        cache.invalidate(POS);
+        Assert.assertTrue(Float.isNaN(cache.getResistance(POS)));
+    }
+
+    @Test
+    public void testExposureCachedUntilAnyBlockChange() {
+        final World world = mock(World.class);
+        final Vec3d origin = new Vec3d(0.5D, 64.0D, 0.5D);
+        final AxisAlignedBB box = new AxisAlignedBB(2.0D, 64.0D, 2.0D, 2.98D, 64.98D, 2.98D);
+        when(world.getBlockDensity(origin, box)).thenReturn(0.75F);
+        final ExplosionCache cache = new ExplosionCache();
+
+        Assert.assertEquals(0.75F, cache.getExposure(world, origin, box), 0.0F);
+        Assert.assertEquals(0.75F, cache.getExposure(world, new Vec3d(0.5D, 64.0D, 0.5D),
+                new AxisAlignedBB(2.0D, 64.0D, 2.0D, 2.98D, 64.98D, 2.98D)), 0.0F);
+        verify(world, times(1)).getBlockDensity(origin, box);
+
+        cache.invalidate(new BlockPos(100, 10, 100));
+        cache.getExposure(world, origin, box);
+        verify(world, times(2)).getBlockDensity(origin, box);
+
+        cache.clear();
+        cache.getExposure(world, origin, box);
+        verify(world, times(3)).getBlockDensity(origin, box);
+    }
+
+}
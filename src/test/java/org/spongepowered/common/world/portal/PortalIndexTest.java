@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.portal;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PortalIndexTest {
+
+    private static final int RADIUS = 128;
+    private static final int HEIGHT = 256;
+
+    private PortalIndex index;
+
+    @Before
+    public void setUp() {
+        // Every chunk searched is loaded, so the world is never used
+        this.index = new PortalIndex(null);
+        for (int chunkX = -9; chunkX <= 8; chunkX++) {
+            for (int chunkZ = -9; chunkZ <= 8; chunkZ++) {
+                this.index.onChunkLoad(chunkX, chunkZ, null);
+            }
+        }
+    }
+
+    @Test
+    public void testPackRoundTrip() {
+        for (int y : new int[] {0, 1, 127, 128, 255}) {
+            final short packed = PortalIndex.pack(15, y, 7);
+            Assert.assertEquals(15, PortalIndex.unpackX(packed));
+            Assert.assertEquals(y, PortalIndex.unpackY(packed));
+            Assert.assertEquals(7, PortalIndex.unpackZ(packed));
+        }
+    }
+
+    @Test
+    public void testFindsBottomOfRun() {
+        for (int y = 70; y < 73; y++) {
+            this.index.update(new BlockPos(20, y, -30), true);
+        }
+        Assert.assertEquals(new BlockPos(20, 70, -30), this.index.findNearest(new BlockPos(0, 100, 0), RADIUS, HEIGHT));
+    }
+
+    @Test
+    public void testNothingOutOfRangeOrRemoved() {
+        this.index.update(new BlockPos(RADIUS + 1, 64, 0), true);
+        this.index.update(new BlockPos(0, HEIGHT - 1, 0), true);
+        Assert.assertNull(this.index.findNearest(new BlockPos(0, 64, 0), RADIUS, HEIGHT - 1));
+
+        this.index.update(new BlockPos(5, 64, 5), true);
+        this.index.update(new BlockPos(5, 64, 5), false);
+        Assert.assertNull(this.index.findNearest(new BlockPos(0, 64, 0), RADIUS, HEIGHT - 1));
+    }
+
+    @Test
+    public void testTieBreaksLikeVanillaScan() {
+        // Equally distant, vanilla finds the lowest x first
+        this.index.update(new BlockPos(3, 64, 0), true);
+        this.index.update(new BlockPos(-3, 64, 0), true);
+        Assert.assertEquals(new BlockPos(-3, 64, 0), this.index.findNearest(new BlockPos(0, 64, 0), RADIUS, HEIGHT));
+
+        // Then the lowest z
+        this.index.update(new BlockPos(-3, 64, 0), false);
+        this.index.update(new BlockPos(3, 64, -1), true);
+        this.index.update(new BlockPos(3, 64, 1), true);
+        this.index.update(new BlockPos(3, 64, 0), false);
+        Assert.assertEquals(new BlockPos(3, 64, -1), this.index.findNearest(new BlockPos(0, 64, 0), RADIUS, HEIGHT));
+
+        // Then the highest y, as vanilla scans each column downwards
+        this.index.update(new BlockPos(3, 64, -1), false);
+        this.index.update(new BlockPos(3, 64, 1), false);
+        this.index.update(new BlockPos(0, 60, 3), true);
+        this.index.update(new BlockPos(0, 68, 3), true);
+        Assert.assertEquals(new BlockPos(0, 68, 3), this.index.findNearest(new BlockPos(0, 64, 0), RADIUS, HEIGHT));
+    }
+
+}